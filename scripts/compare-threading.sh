@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드 모드와 가상 스레드 모드의 처리량/지연 시간을 같은 조건으로 비교한다.
+# 필요 : Java 21 이상, hey (https://github.com/rakyll/hey), curl
+# 사용 : scripts/compare-threading.sh [동시 요청 수] [측정 시간]
+set -euo pipefail
+
+CONCURRENCY="${1:-400}"
+DURATION="${2:-30s}"
+PORT="${PORT:-18080}"
+POOL_SIZE="${POOL_SIZE:-20}"
+BASE_URL="http://localhost:${PORT}"
+REPORT_DIR="build/reports/threading"
+EMAIL="loadtest@example.com"
+PASSWORD="loadtest-password"
+
+cd "$(dirname "$0")/.."
+mkdir -p "${REPORT_DIR}"
+
+./gradlew -q bootJar -PjavaVersion=21
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+run_mode() {
+  local mode="$1" profile_args=()
+  [[ "${mode}" == "virtual" ]] && profile_args=(--spring.profiles.active=virtual)
+
+  java -jar "${JAR}" --server.port="${PORT}" \
+    --spring.datasource.hikari.maximum-pool-size="${POOL_SIZE}" \
+    --blog.security.password.calibrate=false \
+    "${profile_args[@]}" > "${REPORT_DIR}/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+
+  until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do sleep 1; done
+
+  # 회원 가입 후 로그인해서 세션 쿠키를 받는다.
+  curl -s -o /dev/null -d "email=${EMAIL}&password=${PASSWORD}" "${BASE_URL}/user"
+  local session
+  session="$(curl -s -o /dev/null -D - -d "username=${EMAIL}&password=${PASSWORD}" "${BASE_URL}/login" \
+    | grep -i '^set-cookie: JSESSIONID' | sed -E 's/.*JSESSIONID=([^;]+).*/\1/')"
+
+  # 워밍업 후 측정 : 매 요청마다 DB 를 조회하는 글 목록 API
+  hey -z 10s -c "${CONCURRENCY}" -H "Cookie: JSESSIONID=${session}" "${BASE_URL}/api/articles?size=20" > /dev/null
+  hey -z "${DURATION}" -c "${CONCURRENCY}" -H "Cookie: JSESSIONID=${session}" "${BASE_URL}/api/articles?size=20" \
+    > "${REPORT_DIR}/${mode}.txt"
+
+  curl -s "${BASE_URL}/actuator/prometheus" | grep -E '^(hikaricp_connections_pending|blog_virtual_threads_pinned)' \
+    > "${REPORT_DIR}/${mode}-metrics.txt" || true
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform
+run_mode virtual
+
+{
+  echo "# Threading comparison ($(date -u +%Y-%m-%dT%H:%M:%SZ))"
+  echo
+  echo "concurrency=${CONCURRENCY}, duration=${DURATION}, hikari maximum-pool-size=${POOL_SIZE}, java=$(java -version 2>&1 | head -n 1)"
+  for mode in platform virtual; do
+    echo
+    echo "## ${mode}"
+    echo '```'
+    grep -E 'Requests/sec|Average|Slowest|Fastest|50%|99%|\[[0-9]{3}\]' "${REPORT_DIR}/${mode}.txt" || true
+    cat "${REPORT_DIR}/${mode}-metrics.txt"
+    echo '```'
+  done
+} > "${REPORT_DIR}/summary.md"
+
+cat "${REPORT_DIR}/summary.md"
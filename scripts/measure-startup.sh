@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# 시작 방식별 첫 요청까지 걸리는 시간(time-to-first-request)을 같은 jar 로 비교한다.
+# 필요 : curl, Java 17 이상
+# 사용 : scripts/measure-startup.sh [반복 횟수]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18081}"
+BASE_URL="http://localhost:${PORT}"
+REPORT_DIR="build/reports/startup"
+
+cd "$(dirname "$0")/.."
+mkdir -p "${REPORT_DIR}"
+
+# AOT 코드가 포함된 jar 와 CDS 아카이브를 한 번에 만든다. (AOT 코드는 -Dspring.aot.enabled=true 일 때만 사용됨)
+./gradlew -q -Paot bootJar cdsArchive
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+CDS_JAR="build/cds/$(basename "${JAR}")"
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+# 실행 후 첫 요청(로그인 페이지 : 디스패처 서블릿, 시큐리티 필터, 타임리프 렌더링)이 200 을 받을 때까지의 시간
+measure() {
+  local name="$1"; shift
+  local start pid elapsed
+
+  start="$(now_ms)"
+  "$@" --server.port="${PORT}" > "${REPORT_DIR}/${name}-app.log" 2>&1 &
+  pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+
+  until curl -sf -o /dev/null "${BASE_URL}/login"; do
+    kill -0 "${pid}" 2>/dev/null || { echo "${name}: application exited, see ${REPORT_DIR}/${name}-app.log" >&2; exit 1; }
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+  echo "${elapsed}"
+}
+
+run_variant() {
+  local name="$1"; shift
+  local results=()
+
+  for ((i = 1; i <= RUNS; i++)); do
+    results+=("$(measure "${name}" "$@")")
+  done
+
+  local sorted median
+  sorted="$(printf '%s\n' "${results[@]}" | sort -n)"
+  median="$(echo "${sorted}" | sed -n "$(( (RUNS + 1) / 2 ))p")"
+  echo "| ${name} | ${median} | $(echo "${sorted}" | head -n 1) | $(echo "${sorted}" | tail -n 1) |"
+}
+
+{
+  echo "# Time to first request ($(date -u +%Y-%m-%dT%H:%M:%SZ))"
+  echo
+  echo "runs=${RUNS}, java=$(java -version 2>&1 | head -n 1)"
+  echo
+  echo "| variant | median (ms) | min (ms) | max (ms) |"
+  echo "|---|---|---|---|"
+  run_variant baseline java -jar "${JAR}"
+  run_variant faststart java -jar "${JAR}" --spring.profiles.active=faststart
+  run_variant faststart-aot java -Dspring.aot.enabled=true -jar "${JAR}" --spring.profiles.active=faststart
+  run_variant faststart-aot-cds java -XX:SharedArchiveFile=build/cds/application.jsa -Dspring.aot.enabled=true \
+    -jar "${CDS_JAR}" --spring.profiles.active=faststart
+} > "${REPORT_DIR}/summary.md"
+
+cat "${REPORT_DIR}/summary.md"
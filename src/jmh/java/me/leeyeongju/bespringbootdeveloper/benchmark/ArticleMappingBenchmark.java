@@ -0,0 +1,48 @@
+package me.leeyeongju.bespringbootdeveloper.benchmark;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArticleMappingBenchmark {
+    /*
+    Article 엔티티 목록을 응답 DTO(ArticleResponse, ArticleListViewResponse)로 변환하는 비용을 측정하는 벤치마크
+     */
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private List<Article> articles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        articles = IntStream.range(0, rows)
+                .mapToObj(i -> Article.builder()
+                        .title("title " + i)
+                        .content("content " + i)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<ArticleResponse> toArticleResponse() {
+        return articles.stream()
+                .map(ArticleResponse::new)
+                .toList();
+    }
+
+    @Benchmark
+    public List<ArticleListViewResponse> toArticleListViewResponse() {
+        return articles.stream()
+                .map(ArticleListViewResponse::new)
+                .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package me.leeyeongju.bespringbootdeveloper.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.AddArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArticlePayloadBenchmark {
+    /*
+    API 응답 형식별 직렬화 비용과 페이로드 크기를 비교하는 벤치마크
+    JSON : 기존 설정 (리플렉션으로 게터 호출)
+    JSON_BLACKBIRD : JSON + BlackbirdModule (JacksonConfig)
+    CBOR_BLACKBIRD : Accept: application/cbor 응답과 같은 설정
+     */
+
+    public enum Format {
+        JSON, JSON_BLACKBIRD, CBOR_BLACKBIRD
+    }
+
+    @Param({"JSON", "JSON_BLACKBIRD", "CBOR_BLACKBIRD"})
+    private Format format;
+
+    private ObjectMapper objectMapper;
+    private Article entity;
+    private AddArticleResponse response;
+    private List<ArticleResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json(); // 스프링 MVC 와 같은 설정
+
+        if (format != Format.JSON) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (format == Format.CBOR_BLACKBIRD) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+
+        entity = Article.builder()
+                .title("benchmark title")
+                .content("benchmark content ".repeat(20))
+                .build();
+        response = new AddArticleResponse(entity);
+        page = IntStream.range(0, 20) // 목록 한 페이지 (blog.article.page.default-size)
+                .mapToObj(i -> new ArticleResponse(Article.builder()
+                        .title("title " + i)
+                        .content("content " + i)
+                        .build(), i))
+                .toList();
+    }
+
+    // 페이로드 크기 : 시간과 함께 결과 표에 benchmark:bytes 로 기록된다.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes; // 이번 반복(iteration)에서 마지막으로 직렬화한 크기
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+        byte[] record(byte[] serialized) {
+            bytes = serialized.length;
+            return serialized;
+        }
+    }
+
+    // 기존 addArticle() : Article 엔티티를 그대로 직렬화
+    @Benchmark
+    public byte[] serializeEntity(Payload payload) throws JsonProcessingException {
+        return payload.record(objectMapper.writeValueAsBytes(entity));
+    }
+
+    // 변경 후 addArticle() : AddArticleResponse 직렬화
+    @Benchmark
+    public byte[] serializeResponse(Payload payload) throws JsonProcessingException {
+        return payload.record(objectMapper.writeValueAsBytes(response));
+    }
+
+    // 글 목록 한 페이지 (findAllArticles)
+    @Benchmark
+    public byte[] serializePage(Payload payload) throws JsonProcessingException {
+        return payload.record(objectMapper.writeValueAsBytes(page));
+    }
+
+    /*
+    같은 format 안에서 serializeEntity 와 serializeResponse 를 비교하면 엔티티 대신 DTO 를 쓰는 효과를,
+    같은 메서드를 format 별로 비교하면 Blackbird 와 CBOR 의 효과를 볼 수 있다.
+    벤치마크의 엔티티는 영속성 컨텍스트 밖에서 만든 객체라 body 가 프록시가 아니다. 실제 요청에서는 엔티티 직렬화가
+    지연 로딩 쿼리를 실행할 수 있으므로 이 측정값보다 비용이 더 크다.
+    Payload(@AuxCounters EVENTS) : 페이로드 크기를 콘솔 출력 대신 보조 결과로 남겨서 results json 에도 시간과 같은 행으로 기록된다.
+        누적하지 않고 마지막 크기를 대입하므로, 기본 설정(스레드 1개)에서는 반복마다 한 번 직렬화한 크기(바이트)가 그대로 보인다.
+    CBOR 는 문자열 내용은 그대로 담으므로 본문이 긴 글일수록 크기 차이는 줄어든다. (필드 이름, 숫자, 구분자에서 줄어듦)
+     */
+}
@@ -0,0 +1,43 @@
+package me.leeyeongju.bespringbootdeveloper.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArticleSerializationBenchmark {
+    /*
+    글 목록 응답(List<ArticleResponse>)을 Jackson 으로 JSON 직렬화하는 비용을 10건, 1,000건, 100,000건에서 측정하는 벤치마크
+     */
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<ArticleResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // 스프링 MVC 와 같은 설정의 ObjectMapper
+        responses = IntStream.range(0, rows)
+                .mapToObj(i -> new ArticleResponse(Article.builder()
+                        .title("title " + i)
+                        .content("content " + i)
+                        .build()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
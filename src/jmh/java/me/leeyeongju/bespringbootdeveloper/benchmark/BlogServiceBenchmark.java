@@ -0,0 +1,118 @@
+package me.leeyeongju.bespringbootdeveloper.benchmark;
+
+import me.leeyeongju.bespringbootdeveloper.BeSpringbootDeveloperApplication;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.service.ArticleCache;
+import me.leeyeongju.bespringbootdeveloper.service.BlogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlogServiceBenchmark {
+    /*
+    임베디드 H2 위에서 BlogService 의 주요 메서드(findById, findAll, save, update) 실행 시간을 측정하는 벤치마크
+     */
+
+    @Param({"1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BlogService blogService;
+    private ArticleCache articleCache;
+    private static final int BATCH_SIZE = 100;
+
+    private long[] ids;
+    private List<AddArticleRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 1. 웹 서버는 임의 포트, DB는 벤치마크 전용 메모리 H2 로 애플리케이션 실행
+        context = new SpringApplicationBuilder(BeSpringbootDeveloperApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "blog.security.password.calibrate=false",
+                        "logging.level.root=WARN")
+                .run();
+        blogService = context.getBean(BlogService.class);
+        articleCache = context.getBean(ArticleCache.class);
+
+        // 2. 일괄 저장용 요청
+        batch = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> new AddArticleRequest("batch title " + i, "batch content " + i))
+                .toList();
+
+        // 3. 조회용 데이터 저장
+        ids = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = blogService.save(new AddArticleRequest("title " + i, "content " + i)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 캐시 적중 : 워밍업 이후에는 대부분 ArticleCache 에서 반환된다.
+    @Benchmark
+    public Article findById() {
+        return blogService.findById(randomId());
+    }
+
+    // 캐시 실패 : 조회할 글을 캐시에서 먼저 제거해서 매번 DB(글 + 본문 조인)에서 읽는다.
+    @Benchmark
+    public Article findByIdCacheMiss() {
+        long id = randomId();
+        articleCache.evict(id);
+        return blogService.findById(id);
+    }
+
+    @Benchmark
+    public List<Article> findAll() {
+        return blogService.findAll();
+    }
+
+    @Benchmark
+    public Article save() {
+        return blogService.save(new AddArticleRequest("benchmark title", "benchmark content"));
+    }
+
+    // 100건을 한 번에 저장 (save() 100번과 비교해서 JDBC batch 효과를 확인)
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object saveAll() {
+        return blogService.saveAll(batch);
+    }
+
+    @Benchmark
+    public Object update() {
+        return blogService.update(randomId(), new UpdateArticleRequest("updated title", "updated content"));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    /*
+    @State(Scope.Benchmark) : 모든 벤치마크 스레드가 하나의 애플리케이션 컨텍스트를 공유한다.
+    @Setup(Level.Trial) / @TearDown(Level.Trial) : 측정 전체(trial)의 시작과 끝에 한 번씩 컨텍스트를 띄우고 닫는다.
+    saveAll() 은 @OperationsPerInvocation 으로 글 1건당 시간을 기록하므로 save() 결과와 바로 비교할 수 있다.
+    findById() 는 ArticleCache 를 거치므로 워밍업 이후에는 대부분 캐시 적중 시간이 측정된다.
+    findByIdCacheMiss() 는 같은 조회를 캐시 없이 측정한다. (evict() 는 캐시 항목 하나를 지우는 비용이라 DB 조회에 비해 무시할 수 있다)
+        두 결과의 차이가 캐시로 아끼는 시간이고, DB 조회 경로(쿼리, 조인, 엔티티 생성)가 바뀌었는지는 이쪽 결과로 확인한다.
+    save() 는 실행할수록 테이블이 커지므로 findAll() 과 함께 측정하면 findAll() 결과가 달라질 수 있다.
+        필요하면 -PjmhIncludes 로 나눠서 실행한다. (예: ./gradlew jmh -PjmhIncludes='BlogServiceBenchmark.findById.*')
+     */
+}
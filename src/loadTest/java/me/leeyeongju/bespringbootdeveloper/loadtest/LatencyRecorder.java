@@ -0,0 +1,149 @@
+package me.leeyeongju.bespringbootdeveloper.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyRecorder {
+    /*
+    엔드포인트(Scenario)별 응답 시간을 HdrHistogram 으로 기록하는 클래스
+    corrected : 예정된 요청 시각부터 응답까지 (coordinated omission 보정)
+    service   : 실제로 요청을 보낸 시각부터 응답까지
+     */
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Scenario, Histogram> corrected = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, Histogram> service = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+
+    LatencyRecorder() {
+        for (Scenario scenario : Scenario.values()) {
+            corrected.put(scenario, newHistogram());
+            service.put(scenario, newHistogram());
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    // 시각은 모두 System.nanoTime() 기준
+    void record(Scenario scenario, long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+        corrected.get(scenario).recordValue(toMicros(completedNanos - intendedNanos));
+        service.get(scenario).recordValue(toMicros(completedNanos - sentNanos));
+        if (!success) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    Summary summarize(Duration elapsed) {
+        Histogram total = newHistogram();
+        corrected.values().forEach(total::add);
+
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        double seconds = elapsed.toNanos() / 1e9;
+
+        return new Summary(total.getTotalCount() / seconds,
+                total.getValueAtPercentile(99.0) / MICROS_PER_MILLI,
+                total.getTotalCount() == 0 ? 0 : (double) errorCount / total.getTotalCount());
+    }
+
+    // 엔드포인트별 표(report.md), 백분위 분포(<scenario>.hgrm), 요약(summary.properties) 파일 작성
+    void writeReport(Path dir, LoadTestConfig config, Duration elapsed) throws IOException {
+        Files.createDirectories(dir);
+        double seconds = elapsed.toNanos() / 1e9;
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve("report.md")))) {
+            out.println("# Load test report");
+            out.println();
+            out.println(config + ", measured=" + String.format("%.1f", seconds) + "s");
+            out.println();
+            out.println("Latency in ms, measured from the intended send time (coordinated-omission corrected). "
+                    + "`service p99` is measured from the actual send time.");
+            out.println();
+            out.println("| endpoint | count | errors | req/s | p50 | p90 | p99 | p99.9 | max | service p99 |");
+            out.println("|---|---|---|---|---|---|---|---|---|---|");
+
+            Histogram total = newHistogram();
+            Histogram totalService = newHistogram();
+            long totalErrors = 0;
+
+            for (Scenario scenario : Scenario.values()) {
+                Histogram histogram = corrected.get(scenario);
+                long errorCount = errors.get(scenario).sum();
+                total.add(histogram);
+                totalService.add(service.get(scenario));
+                totalErrors += errorCount;
+
+                printRow(out, scenario.getLabel(), histogram, service.get(scenario), errorCount, seconds);
+
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve(scenario.name() + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+            }
+
+            printRow(out, "**total**", total, totalService, totalErrors, seconds);
+        }
+
+        Summary summary = summarize(elapsed);
+        Properties properties = new Properties();
+        properties.setProperty("throughput", String.valueOf(summary.getThroughput()));
+        properties.setProperty("p99.ms", String.valueOf(summary.getP99Millis()));
+        properties.setProperty("error.rate", String.valueOf(summary.getErrorRate()));
+        try (OutputStream out = Files.newOutputStream(dir.resolve("summary.properties"))) {
+            properties.store(out, "load test summary (" + config + ")");
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, Histogram service,
+                                 long errorCount, double seconds) {
+        out.printf("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f |%n",
+                label, histogram.getTotalCount(), errorCount, histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI, millis(service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class Summary {
+        private final double throughput; // 초당 완료 요청 수
+        private final double p99Millis;
+        private final double errorRate;
+    }
+
+    /*
+    coordinated omission :
+    응답을 기다린 뒤 다음 요청을 보내는 방식(closed loop)은 서버가 느려지면 요청도 덜 보내서, 느린 구간의 지연이 통계에서 빠진다.
+    이 부하 테스트는 응답과 상관없이 정해진 시각에 요청을 보내고(open loop), 지연 시간을 "보내기로 예정된 시각" 부터 잰다.
+    요청을 보내는 쪽이 밀려서 늦게 보낸 경우에도 그만큼 기다린 시간이 지연에 포함된다.
+    service 히스토그램(실제 전송 시각 기준)과 비교하면 클라이언트 쪽에서 밀린 정도를 알 수 있다.
+
+    ConcurrentHistogram : 여러 응답 스레드에서 동시에 recordValue() 해도 안전한 HdrHistogram 구현
+    값은 마이크로초 단위로 기록하고, 보고서에는 밀리초로 출력한다.
+     */
+}
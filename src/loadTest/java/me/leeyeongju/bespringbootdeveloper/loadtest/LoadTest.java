@@ -0,0 +1,285 @@
+package me.leeyeongju.bespringbootdeveloper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import me.leeyeongju.bespringbootdeveloper.BeSpringbootDeveloperApplication;
+import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleBatchResult;
+import me.leeyeongju.bespringbootdeveloper.service.BlogService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+public final class LoadTest {
+    /*
+    애플리케이션을 임의 포트로 띄우고, 실제 HTTP(톰캣, 시큐리티 필터 체인, JSON 직렬화)를 거쳐 부하를 주는 테스트
+    실행 : ./gradlew loadTest (설정은 LoadTestConfig, 결과는 build/reports/loadtest)
+     */
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(35);
+    private static final String PASSWORD = "loadtest-password";
+
+    private final LoadTestConfig config;
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>(); // 부하 중에 만든 글 (DELETE 대상)
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private URI baseUri;
+    private List<Long> seededIds;
+    private List<VirtualUser> users;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        List<String> failures;
+
+        // 1. 부하 테스트 전용 메모리 DB 로 애플리케이션 실행
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BeSpringbootDeveloperApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "blog.security.password.calibrate=false",
+                        "blog.admission.client.rate=1000000", // 가상 사용자의 가입/로그인이 모두 127.0.0.1 버킷을 같이 쓰므로
+                        "blog.admission.client.burst=1000000", // 사용자별 제한(429)은 사실상 끄고 동시 처리 제한(503)만 남긴다.
+                        "logging.level.root=WARN", // 애플리케이션 로그는 줄이고
+                        "logging.level.me.leeyeongju.bespringbootdeveloper.loadtest=INFO") // 부하 테스트 진행 상황만 남긴다.
+                .run(args)) {
+            failures = new LoadTest(config).run(context);
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> log.error("Load test threshold failed: {}", failure));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private List<String> run(ConfigurableApplicationContext context) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = URI.create("http://localhost:" + port);
+
+        // 2. 글 데이터와 가상 사용자(회원 가입 + 로그인 세션) 준비
+        seededIds = seed(context.getBean(BlogService.class));
+        users = new ArrayList<>(config.getUsers());
+        for (int i = 0; i < config.getUsers(); i++) {
+            users.add(VirtualUser.signUpAndLogin(client, baseUri, "loadtest-" + i + "@example.com", PASSWORD));
+        }
+        log.info("Load test started: {}, port={}", config, port);
+
+        // 3. 워밍업 (기록은 버림) 후 측정
+        drive(config.getWarmup(), new LatencyRecorder());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        drive(config.getDuration(), recorder);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // 4. 보고서 작성과 기준 확인
+        recorder.writeReport(config.getReportDir(), config, elapsed);
+        log.info("Load test report written to {}", config.getReportDir().resolve("report.md"));
+
+        return checkThresholds(recorder.summarize(elapsed));
+    }
+
+    private List<Long> seed(BlogService blogService) {
+        List<AddArticleRequest> requests = IntStream.range(0, config.getSeedArticles())
+                .mapToObj(i -> new AddArticleRequest("seed title " + i, "seed content " + i + " ".repeat(200)))
+                .toList();
+
+        return blogService.saveAll(requests).stream()
+                .map(ArticleBatchResult::getId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // duration 동안 rate 에 맞춰 정해진 시각마다 요청을 보낸다. (응답을 기다리지 않는 open loop)
+    private void drive(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            send(Scenario.pick(ThreadLocalRandom.current()), users.get((int) (i % users.size())), intended, recorder);
+        }
+
+        // 보낸 요청의 응답을 모두 받을 때까지 대기
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void send(Scenario scenario, VirtualUser user, long intended, LatencyRecorder recorder) {
+        HttpRequest request = request(scenario, user);
+        long sent = System.nanoTime();
+        inFlight.incrementAndGet();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    boolean success = error == null && scenario.isSuccess(response);
+
+                    if (success && scenario == Scenario.CREATE_API) {
+                        rememberCreatedId(response.body());
+                    }
+
+                    recorder.record(scenario, intended, sent, completed, success);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest request(Scenario scenario, VirtualUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (scenario) {
+            case LIST_API -> user.request(baseUri.resolve("/api/articles?size=20")).GET().build();
+            case GET_API -> user.request(baseUri.resolve("/api/articles/" + randomSeededId(random))).GET().build();
+            case CREATE_API -> user.request(baseUri.resolve("/api/articles"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(new AddArticleRequest("load title", "load content " + random.nextInt())))
+                    .build();
+            case UPDATE_API -> user.request(baseUri.resolve("/api/articles/" + randomSeededId(random)))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("title", "updated title", "content", "updated content " + random.nextInt())))
+                    .build();
+            case DELETE_API -> {
+                Long id = createdIds.poll(); // 부하 중에 만든 글만 삭제해서 조회 대상 데이터는 유지
+                yield user.request(baseUri.resolve("/api/articles/" + (id != null ? id : Long.MAX_VALUE))).DELETE().build();
+            }
+            case LIST_VIEW -> user.request(baseUri.resolve("/articles")).GET().build();
+            case LOGIN_PAGE -> HttpRequest.newBuilder(baseUri.resolve("/login")).timeout(REQUEST_TIMEOUT).GET().build();
+            case LOGIN -> VirtualUser.loginRequest(baseUri, user.getEmail(), PASSWORD);
+        };
+    }
+
+    private long randomSeededId(ThreadLocalRandom random) {
+        return seededIds.get(random.nextInt(seededIds.size()));
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rememberCreatedId(byte[] body) {
+        try {
+            long id = objectMapper.readTree(body).path("id").asLong(0);
+            if (id > 0) {
+                createdIds.add(id);
+            }
+        } catch (IOException ignored) {
+            // 응답 형식이 다르면 DELETE 대상에서만 빠진다.
+        }
+    }
+
+    // 절대 기준(p99, 처리량, 오류 비율)과 이전 실행 결과(baseline) 대비 악화 정도 확인
+    private List<String> checkThresholds(LatencyRecorder.Summary summary) throws IOException {
+        List<String> failures = new ArrayList<>();
+
+        if (summary.getP99Millis() > config.getMaxP99Millis()) {
+            failures.add(String.format("p99 %.2fms > %.2fms", summary.getP99Millis(), config.getMaxP99Millis()));
+        }
+        if (summary.getThroughput() < config.getMinThroughput()) {
+            failures.add(String.format("throughput %.1f/s < %.1f/s", summary.getThroughput(), config.getMinThroughput()));
+        }
+        if (summary.getErrorRate() > config.getMaxErrorRate()) {
+            failures.add(String.format("error rate %.4f > %.4f", summary.getErrorRate(), config.getMaxErrorRate()));
+        }
+
+        if (config.getBaseline() != null) {
+            Properties baseline = new Properties();
+            try (InputStream in = Files.newInputStream(config.getBaseline())) {
+                baseline.load(in);
+            }
+
+            double baselineP99 = Double.parseDouble(baseline.getProperty("p99.ms"));
+            double baselineThroughput = Double.parseDouble(baseline.getProperty("throughput"));
+
+            if (summary.getP99Millis() > baselineP99 * (1 + config.getMaxRegression())) {
+                failures.add(String.format("p99 %.2fms regressed more than %.0f%% from baseline %.2fms",
+                        summary.getP99Millis(), config.getMaxRegression() * 100, baselineP99));
+            }
+            if (summary.getThroughput() < baselineThroughput * (1 - config.getMaxRegression())) {
+                failures.add(String.format("throughput %.1f/s regressed more than %.0f%% from baseline %.1f/s",
+                        summary.getThroughput(), config.getMaxRegression() * 100, baselineThroughput));
+            }
+        }
+
+        return failures;
+    }
+
+    static String form(Map<String, String> fields) {
+        StringBuilder body = new StringBuilder();
+        fields.forEach((key, value) -> {
+            if (!body.isEmpty()) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(key, UTF_8)).append('=').append(URLEncoder.encode(value, UTF_8));
+        });
+        return body.toString();
+    }
+
+    /*
+    1. 애플리케이션 실행 : JMH 벤치마크와 같이 같은 프로세스에서 SpringApplicationBuilder 로 띄운다. (server.port=0 : 임의 포트)
+       MockMvc 와 달리 톰캣, 시큐리티 필터 체인, 세션, JSON 직렬화를 모두 거친다.
+    2. 준비 : seed-articles 개의 글을 saveAll() 로 저장하고, 가상 사용자마다 회원 가입 후 폼 로그인해서 세션 쿠키를 받는다.
+    3. drive() : 요청 간격(1초 / rate)마다 예정 시각을 정하고, 응답을 기다리지 않고 비동기로 보낸다.
+       요청은 가상 사용자에게 순서대로 나눠 주고, 엔드포인트는 Scenario 의 비율대로 고른다.
+       서버가 느려져도 요청 속도는 줄지 않으므로 대기열이 쌓이는 상황이 지연 시간에 그대로 드러난다.
+    4. 기준 확인 : 하나라도 넘으면 종료 코드 1 로 끝나서 gradle loadTest 태스크가 실패한다.
+       baseline 을 지정하면 이전 실행의 summary.properties 와 비교해서 max-regression 보다 나빠진 경우에도 실패한다.
+
+    사용자별 요청 수 제한(blog.admission.client.*)은 사실상 끈다. 모든 요청이 한 대의 부하 생성기(127.0.0.1)에서 나가므로
+       회원 가입(POST /user)과 로그인이 하나의 IP 버킷을 나눠 쓰게 되고, 그러면 애플리케이션이 아니라 제한기를 측정하게 된다.
+       동시 처리 제한(AdmissionControlFilter)은 그대로 두어 과부하 시의 503 도 결과에 포함한다.
+
+    DELETE 는 부하 중에 POST 로 만든 글만 삭제한다. 삭제할 글이 없으면 없는 id 로 요청하므로 404(오류)로 기록된다.
+     */
+}
@@ -0,0 +1,64 @@
+package me.leeyeongju.bespringbootdeveloper.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+final class LoadTestConfig {
+    /*
+    부하 테스트 설정 : 시스템 프로퍼티 loadtest.* 로 받는다. (./gradlew loadTest -PloadTest.rate=300 -> -Dloadtest.rate=300)
+     */
+
+    private final int rate; // 초당 요청 수 (응답과 상관없이 일정한 간격으로 보냄)
+    private final Duration duration; // 측정 시간
+    private final Duration warmup; // 측정 전 워밍업 시간 (기록하지 않음)
+    private final int users; // 가상 사용자 수 (사용자마다 로그인 세션이 따로 있음)
+    private final int seedArticles; // 시작 전에 저장해 둘 글 수
+    private final double maxP99Millis; // 전체 p99 허용 최대값
+    private final double minThroughput; // 최소 처리량 (초당 완료 요청 수)
+    private final double maxErrorRate; // 허용 오류 비율
+    private final Path baseline; // 이전 실행 결과(summary.properties), 없으면 null
+    private final double maxRegression; // 이전 실행 대비 허용 악화 비율
+    private final Path reportDir;
+
+    private LoadTestConfig() {
+        this.rate = Integer.getInteger("loadtest.rate", 200);
+        this.duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        this.warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+        this.users = Integer.getInteger("loadtest.users", 20);
+        this.seedArticles = Integer.getInteger("loadtest.seed-articles", 1000);
+        this.maxP99Millis = doubleProperty("loadtest.max-p99-ms", 500);
+        this.minThroughput = doubleProperty("loadtest.min-throughput", rate * 0.95);
+        this.maxErrorRate = doubleProperty("loadtest.max-error-rate", 0.01);
+        String baselinePath = System.getProperty("loadtest.baseline", "");
+        this.baseline = baselinePath.isBlank() ? null : Path.of(baselinePath);
+        this.maxRegression = doubleProperty("loadtest.max-regression", 0.2);
+        this.reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+        if (rate < 1 || users < 1 || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("loadtest.rate, loadtest.users and loadtest.duration must be positive");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + duration.toSeconds() + "s, warmup=" + warmup.toSeconds()
+                + "s, users=" + users + ", seedArticles=" + seedArticles;
+    }
+
+    /*
+    시간 값은 "30s", "2m" 처럼 받는다. (Duration.parse("PT30S") 로 변환, 대소문자 구분 없음)
+    minThroughput 의 기본값은 목표 요청 수(rate)의 95% 이다. 서버가 목표 속도를 따라가지 못하면 처리량이 떨어진다.
+     */
+}
@@ -0,0 +1,58 @@
+package me.leeyeongju.bespringbootdeveloper.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@RequiredArgsConstructor
+enum Scenario {
+    /*
+    부하 테스트에서 호출하는 엔드포인트와 호출 비율(weight)
+     */
+
+    LIST_API("GET /api/articles", 25, false),
+    GET_API("GET /api/articles/{id}", 30, false),
+    CREATE_API("POST /api/articles", 10, false),
+    UPDATE_API("PUT /api/articles/{id}", 8, false),
+    DELETE_API("DELETE /api/articles/{id}", 5, false),
+    LIST_VIEW("GET /articles", 12, false),
+    LOGIN_PAGE("GET /login", 6, false),
+    LOGIN("POST /login", 4, true);
+
+    private final String label;
+    private final int weight;
+    private final boolean redirectExpected; // 성공 시 302 로 응답하는 요청 (폼 로그인)
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(Scenario::getWeight).sum();
+
+    // 비율에 맞게 임의로 하나 선택
+    static Scenario pick(ThreadLocalRandom random) {
+        int value = random.nextInt(TOTAL_WEIGHT);
+
+        for (Scenario scenario : values()) {
+            value -= scenario.weight;
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    // 응답 코드로 성공 여부 판단 (로그인 실패도 302 이므로 /login?error 로 가는지 확인)
+    boolean isSuccess(HttpResponse<?> response) {
+        if (redirectExpected) {
+            return response.statusCode() == 302
+                    && !response.headers().firstValue("Location").orElse("").contains("error");
+        }
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    /*
+    비율은 읽기 위주의 블로그 트래픽을 가정한 값이다. (읽기 약 70%, 쓰기 약 25%, 로그인 약 5%)
+    LOGIN 은 BCrypt 해시 검증이 포함되므로 비율이 작아도 CPU 사용량에 큰 영향을 준다.
+     */
+}
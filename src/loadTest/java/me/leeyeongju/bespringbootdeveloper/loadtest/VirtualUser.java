@@ -0,0 +1,63 @@
+package me.leeyeongju.bespringbootdeveloper.loadtest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class VirtualUser {
+    /*
+    부하 테스트의 가상 사용자 : 회원 가입 후 폼 로그인으로 받은 세션 쿠키(JSESSIONID)로 요청한다.
+     */
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String email;
+    private final String sessionCookie;
+
+    static VirtualUser signUpAndLogin(HttpClient client, URI baseUri, String email, String password)
+            throws IOException, InterruptedException {
+        // 1. 회원 가입 (성공하면 /login 으로 리다이렉트)
+        client.send(HttpRequest.newBuilder(baseUri.resolve("/user"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(LoadTest.form(Map.of("email", email, "password", password))))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        // 2. 로그인 후 세션 쿠키 저장
+        HttpResponse<Void> response = client.send(loginRequest(baseUri, email, password),
+                HttpResponse.BodyHandlers.discarding());
+
+        String cookie = response.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith("JSESSIONID="))
+                .map(value -> value.substring(0, value.indexOf(';') > 0 ? value.indexOf(';') : value.length()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login failed for " + email + ": " + response.statusCode()));
+
+        return new VirtualUser(email, cookie);
+    }
+
+    static HttpRequest loginRequest(URI baseUri, String email, String password) {
+        return HttpRequest.newBuilder(baseUri.resolve("/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(LoadTest.form(Map.of("username", email, "password", password))))
+                .build();
+    }
+
+    // 세션 쿠키를 붙인 요청
+    HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Cookie", sessionCookie)
+                .header("Accept", "application/json, text/html");
+    }
+}
@@ -2,14 +2,22 @@ package me.leeyeongju.bespringbootdeveloper;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing // created_at, updated_at 자동 업데이트
+@EnableScheduling // @Scheduled 메서드 실행 (검색 인덱스 커밋 등)
 public class BeSpringbootDeveloperApplication {
 
+    // 시작 단계(빈 생성, 컨텍스트 refresh 등)를 기록할 최대 이벤트 수
+    private static final int STARTUP_EVENT_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(BeSpringbootDeveloperApplication.class, args);
+        SpringApplication application = new SpringApplication(BeSpringbootDeveloperApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_EVENT_CAPACITY)); // /actuator/startup 으로 조회
+        application.run(args);
     }
 
 }
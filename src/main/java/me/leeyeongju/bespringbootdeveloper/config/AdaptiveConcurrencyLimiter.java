@@ -0,0 +1,145 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+final class AdaptiveConcurrencyLimiter implements MeterBinder {
+    /*
+    동시에 처리할 요청 수를 응답 시간에 맞춰 조절하는 제한기 (AIMD)
+    최근 응답 시간이 평소보다 tolerance 배 이상 느려지면 한도를 backoff-ratio 만큼 줄이고(곱셈 감소),
+    그렇지 않으면 한도를 조금씩 늘린다(덧셈 증가). 모든 상태는 Atomic 변수로 관리하고 락을 쓰지 않는다.
+     */
+
+    private static final double SHORT_SMOOTHING = 0.2; // 최근 약 5개 응답의 이동 평균
+    private static final double LONG_SMOOTHING = 0.01; // 최근 약 100개 응답의 이동 평균 (평소 응답 시간)
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final long maxLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limit; // double 을 비트로 저장
+    private final AtomicLong shortRtt = new AtomicLong(); // double 을 비트로 저장 (0 이면 아직 샘플 없음)
+    private final AtomicLong longRtt = new AtomicLong();
+    private final AtomicLong lastDecreaseNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                               Duration maxLatency, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, maxLatency, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                               Duration maxLatency, double backoffRatio, LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(Math.max(minLimit, Math.min(initialLimit, maxLimit))));
+        this.lastDecreaseNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    // 현재 한도의 share 비율까지만 받는다. 받으면 처리 후 반드시 release() 호출
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (getLimit() * share));
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 처리가 끝난 요청 반납, rttNanos 가 음수면 응답 시간은 반영하지 않음
+    void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos < 0) {
+            return;
+        }
+
+        double recent = ewma(shortRtt, rttNanos, SHORT_SMOOTHING);
+        double baseline = ewma(longRtt, rttNanos, LONG_SMOOTHING);
+
+        if (recent > baseline * latencyTolerance || recent > maxLatencyNanos) {
+            decrease((long) recent);
+        } else if (current * 2 >= getLimit()) {
+            updateLimit(value -> Math.min(maxLimit, value + 1.0 / value)); // 한도의 절반 이상 사용 중일 때만 증가
+        }
+    }
+
+    double getLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    // 응답 시간 한 번(recent) 동안에는 한 번만 줄인다. (동시에 끝난 느린 요청들이 한도를 연달아 줄이지 않도록)
+    private void decrease(long recentNanos) {
+        long now = nanoClock.getAsLong();
+        long last = lastDecreaseNanos.get();
+
+        if (now - last >= recentNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+            updateLimit(value -> Math.max(minLimit, value * backoffRatio));
+        }
+    }
+
+    private void updateLimit(DoubleUnaryOperator function) {
+        limit.getAndUpdate(bits -> Double.doubleToRawLongBits(function.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+
+    private static double ewma(AtomicLong average, long sample, double smoothing) {
+        return Double.longBitsToDouble(average.updateAndGet(bits -> {
+            double value = Double.longBitsToDouble(bits);
+            return Double.doubleToRawLongBits(value == 0 ? sample : value + (sample - value) * smoothing);
+        }));
+    }
+
+    // blog.admission.limit, blog.admission.in.flight, blog.admission.rejected{reason=concurrency} 지표 등록
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit).register(registry);
+        Gauge.builder("blog.admission.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight).register(registry);
+        FunctionCounter.builder("blog.admission.rejected", rejected, LongAdder::sum)
+                .tag("reason", "concurrency")
+                .register(registry);
+    }
+
+    /*
+    한도(limit)를 넘는 요청은 기다리지 않고 바로 거절한다. 서버가 처리할 수 있는 것보다 많은 요청을 받으면
+    Tomcat 대기열과 Hikari 커넥션 대기에서 모두 같이 느려지므로, 일부를 빨리 거절하는 쪽이 나머지 요청의 응답 시간을 지킨다.
+
+    한도 조절 :
+    baseline(평소 응답 시간, 느린 이동 평균)과 recent(최근 응답 시간, 빠른 이동 평균)를 비교한다.
+    DB 가 포화되기 시작하면 처리량은 그대로인데 대기 시간만 늘어나므로 recent 가 baseline 보다 먼저 커진다. 이때 한도를 줄인다.
+    과부하가 오래 이어지면 baseline 도 따라 올라가므로, recent 가 max-latency 를 넘을 때도 줄인다.
+    증가는 요청 하나가 끝날 때마다 1/limit 이므로 한도만큼의 요청이 끝나야 1 늘어난다.
+    한가할 때(사용 중인 수가 한도의 절반 미만) 한도가 끝없이 커지지 않도록, 그때는 늘리지 않는다.
+
+    share : 우선순위별로 한도의 일부만 쓰게 한다. 읽기는 한도의 일부(read-share)까지만 받고 나머지는 쓰기용으로 남긴다.
+
+    락 없이 동작 :
+    inFlight 는 compareAndSet 반복으로 한도를 넘지 않게 증가시키고, limit 와 이동 평균은 double 비트를 AtomicLong 에 저장해서 updateAndGet 으로 바꾼다.
+    동시에 끝난 요청들의 이동 평균 갱신이 서로 덮어쓰지 않고 모두 반영된다.
+     */
+}
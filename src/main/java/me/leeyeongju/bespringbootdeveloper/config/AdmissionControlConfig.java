@@ -0,0 +1,88 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "blog.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+    /*
+    요청 수 제한(부하 차단) 설정 파일 (blog.admission.enabled=true 일 때만 사용)
+     */
+
+    // 1. 동시 처리 요청 수 제한기 (응답 시간에 따라 한도 조절)
+    @Bean
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${blog.admission.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${blog.admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${blog.admission.concurrency.max-limit:200}") int maxLimit,
+            @Value("${blog.admission.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${blog.admission.concurrency.max-latency:1s}") Duration maxLatency,
+            @Value("${blog.admission.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyTolerance, maxLatency, backoffRatio);
+    }
+
+    // 2. 사용자별 토큰 버킷
+    @Bean
+    ClientRateLimiter clientRateLimiter(
+            @Value("${blog.admission.client.rate:50}") double rate,
+            @Value("${blog.admission.client.burst:100}") int burst,
+            @Value("${blog.admission.client.maximum-clients:100000}") long maximumClients) {
+        return new ClientRateLimiter(rate, burst, maximumClients);
+    }
+
+    // 3. 시큐리티 필터 체인보다 먼저 : 동시 처리 수 제한 (503)
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            @Value("${blog.admission.concurrency.read-share:0.8}") double readShare,
+            @Value("${blog.admission.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limiter, readShare, retryAfter));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    // 4. 시큐리티 필터 체인 앞 : 폼 로그인(POST /login)의 IP 별 요청 수 제한 (429)
+    @Bean
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilter(
+            ClientRateLimiter rateLimiter,
+            @Value("${blog.admission.client.write-cost:5}") int writeCost) {
+        FilterRegistrationBean<LoginRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new LoginRateLimitFilter(rateLimiter, writeCost));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+
+    // 5. 시큐리티 필터 체인 다음 : 사용자별 요청 수 제한 (429)
+    @Bean
+    public FilterRegistrationBean<ClientRateLimitFilter> clientRateLimitFilter(
+            ClientRateLimiter rateLimiter,
+            @Value("${blog.admission.client.write-cost:5}") int writeCost) {
+        FilterRegistrationBean<ClientRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new ClientRateLimitFilter(rateLimiter, writeCost));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+
+    /*
+    필터 순서 (숫자가 작을수록 먼저 실행) :
+    SqlAccountingFilter(HIGHEST_PRECEDENCE + 10) -> AdmissionControlFilter(-110) -> LoginRateLimitFilter(-105)
+        -> 스프링 시큐리티(-100) -> ClientRateLimitFilter(-90) -> 컨트롤러
+
+    AdmissionControlFilter 는 세션 조회와 인증보다 먼저 거절하므로 거절 비용이 가장 작다.
+    ClientRateLimitFilter 는 인증된 사용자를 알아야 하므로 시큐리티 다음에 둔다.
+    폼 로그인은 시큐리티 필터 안에서 응답이 끝나 ClientRateLimitFilter 까지 오지 않으므로, LoginRateLimitFilter 가 시큐리티 앞에서 IP 로 제한한다.
+        로그인은 패스워드 해시(수백 ms)를 하는 가장 비싼 요청이고 패스워드 대입 공격의 대상이므로 write-cost 만큼 토큰을 쓴다.
+
+    두 제한기는 MeterBinder 이므로 스프링 부트가 지표를 등록한다. (blog.admission.limit, blog.admission.in.flight, blog.admission.rejected)
+    한도가 min-limit 근처에 머물러 있으면 DB 나 커넥션 풀이 병목이라는 뜻이다.
+    가상 스레드(virtual 프로필)에서는 Tomcat 스레드 수가 요청 수를 제한하지 않으므로 이 제한기가 유일한 동시 처리 제한이다.
+     */
+}
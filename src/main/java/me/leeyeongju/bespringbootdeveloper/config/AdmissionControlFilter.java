@@ -0,0 +1,64 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+final class AdmissionControlFilter extends OncePerRequestFilter {
+    /*
+    스프링 시큐리티보다 먼저 실행되어, 서버가 감당할 수 있는 만큼만 요청을 받는 필터 (AdaptiveConcurrencyLimiter)
+    한도를 넘으면 세션 조회, 인증, DB 조회 전에 503 Service Unavailable 과 Retry-After 로 바로 응답한다.
+     */
+
+    private static final String EXPORT_PATH = "/api/articles/export";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final double readShare;
+    private final String retryAfterSeconds;
+
+    AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, double readShare, Duration retryAfter) {
+        this.limiter = limiter;
+        this.readShare = readShare;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+
+        if (priority == RequestPriority.STATIC) {
+            filterChain.doFilter(request, response); // DB 를 쓰지 않는 요청은 제한하지 않음
+            return;
+        }
+
+        if (!limiter.tryAcquire(priority == RequestPriority.WRITE ? 1.0 : readShare)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 전체 내보내기는 응답 시간이 글 수에 비례하므로 한도 조절에 반영하지 않는다.
+            boolean sampled = !EXPORT_PATH.equals(request.getRequestURI());
+            limiter.release(sampled ? System.nanoTime() - start : -1);
+        }
+    }
+
+    /*
+    거절 응답은 sendError() 가 아니라 상태 코드와 헤더만 쓴다. (오류 페이지로 다시 디스패치하면 거절한 요청이 다시 일을 만듦)
+    503 : 서버 전체가 바쁜 상태이므로 모든 클라이언트에게 같은 Retry-After 를 준다. 사용자 한 명이 너무 많이 보내는 경우는 ClientRateLimitFilter 의 429 이다.
+    쓰기는 한도 전체를, 읽기는 한도의 read-share 까지만 쓸 수 있으므로 읽기 요청이 몰려도 쓰기 요청을 받을 자리가 남는다.
+    오류 디스패치(ERROR)는 OncePerRequestFilter 기본 설정으로 다시 거치지 않는다.
+     */
+}
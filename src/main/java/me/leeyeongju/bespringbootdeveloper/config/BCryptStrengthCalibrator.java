@@ -0,0 +1,49 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+public final class BCryptStrengthCalibrator {
+    /*
+    애플리케이션 시작 시 현재 하드웨어에서 목표 해시 시간에 맞는 BCrypt 강도(work factor)를 고르는 클래스
+     */
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(SAMPLE_PASSWORD); // 1. JIT 워밍업
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) { // 2. 최소 강도에서 가장 빠른 해시 시간 측정
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimated = fastest;
+        while (strength < maxStrength && estimated * 2 <= targetHashTime.toNanos()) { // 3. 강도가 1 오를 때마다 시간은 2배
+            strength++;
+            estimated *= 2;
+        }
+
+        log.info("BCrypt strength calibrated: strength={}, estimatedHashTime={}ms, target={}ms",
+                strength, estimated / 1_000_000, targetHashTime.toMillis());
+
+        return strength;
+    }
+
+    /*
+    BCrypt 는 강도(strength)가 1 증가할 때마다 반복 횟수가 2배가 되므로 해시 시간도 약 2배가 된다.
+    최소 강도에서 측정한 시간을 기준으로, 목표 시간을 넘지 않는 가장 큰 강도를 선택한다.
+    minStrength 아래로는 내려가지 않으므로 빠른 서버에서도 보안 수준이 기본값(10)보다 낮아지지 않는다.
+     */
+}
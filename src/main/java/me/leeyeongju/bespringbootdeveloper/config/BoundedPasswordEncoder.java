@@ -0,0 +1,81 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import me.leeyeongju.bespringbootdeveloper.exception.PasswordHashingRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    /*
+    패스워드 해시(encode, matches)를 동시에 poolSize 개까지만 실행하는 PasswordEncoder
+    CPU를 많이 쓰는 해시 작업이 동시에 몇 개까지 실행될지 제한하고, 대기열까지 가득 차면 바로 거절(503)해서
+    로그인이 몰려도 글 조회 같은 가벼운 요청이 CPU를 빼앗기지 않도록 한다.
+     */
+
+    private final PasswordEncoder delegate;
+    private final Semaphore admitted; // 1. 실행 중이거나 기다리는 해시 수 (poolSize + queueCapacity)
+    private final Semaphore running; // 2. 동시에 실행하는 해시 수 (poolSize)
+    private final Duration waitTimeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, Duration waitTimeout) {
+        this.delegate = delegate;
+        this.admitted = new Semaphore(poolSize + queueCapacity);
+        this.running = new Semaphore(poolSize, true); // 공정 모드 : 먼저 기다린 요청부터 실행
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // 해시 문자열의 강도만 비교하므로 제한하지 않는다.
+    }
+
+    // 해시를 시작하기 전에만 거절하고, 시작한 해시는 요청 스레드에서 끝까지 실행한다.
+    private <T> T execute(Supplier<T> task) {
+        if (!admitted.tryAcquire()) {
+            throw rejected("password hashing queue is full"); // 대기열이 가득 차면 기다리지 않고 거절
+        }
+
+        try {
+            if (!running.tryAcquire(waitTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw rejected("password hashing timed out");
+            }
+
+            try {
+                return task.get();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected("password hashing interrupted");
+        } finally {
+            admitted.release();
+        }
+    }
+
+    private PasswordHashingRejectedException rejected(String reason) {
+        return new PasswordHashingRejectedException(reason, Math.max(1, waitTimeout.toSeconds()));
+    }
+
+    /*
+    BCrypt 는 계산 도중에 인터럽트를 확인하지 않으므로, 전용 스레드 풀에 맡기고 시간이 지나면 Future.cancel() 하는 방식은
+    요청만 실패시키고 해시는 풀 스레드에서 끝까지 계속 실행된다. (거절한 만큼 CPU 를 아끼지 못하고, 그동안 다음 작업도 밀린다.)
+    그래서 요청 스레드가 세마포어로 실행 자리를 얻은 뒤 직접 해시하고, 자리를 얻지 못한 요청은 해시를 시작하기 전에 거절한다.
+    admitted : 기다리는 요청까지 포함한 상한. 가득 차면 tryAcquire() 가 바로 false 라서 스레드가 더 쌓이지 않는다.
+    running : 실제로 해시하는 요청 수의 상한이라 CPU 사용량의 상한이 정해진다. waitTimeout 은 실행 자리를 기다리는 시간에만 적용된다.
+    대기열이 가득 찼거나 waitTimeout 안에 자리를 얻지 못하면 PasswordHashingRejectedException(503, Retry-After)을 던진다.
+     */
+}
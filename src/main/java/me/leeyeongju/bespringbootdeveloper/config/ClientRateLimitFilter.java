@@ -0,0 +1,83 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+final class ClientRateLimitFilter extends OncePerRequestFilter {
+    /*
+    스프링 시큐리티 다음에 실행되어, 사용자별로 초당 요청 수를 제한하는 필터 (ClientRateLimiter)
+    로그인한 사용자는 사용자 이름(email), 로그인하지 않은 요청은 IP 주소 단위로 제한하고, 넘으면 429 Too Many Requests 로 응답한다.
+     */
+
+    private final ClientRateLimiter rateLimiter;
+    private final int writeCost;
+
+    ClientRateLimitFilter(ClientRateLimiter rateLimiter, int writeCost) {
+        this.rateLimiter = rateLimiter;
+        this.writeCost = writeCost;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+
+        if (priority != RequestPriority.STATIC) {
+            long waitNanos = rateLimiter.tryConsume(clientKey(request), priority == RequestPriority.WRITE ? writeCost : 1);
+
+            if (tooManyRequests(response, waitNanos)) {
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return ipKey(request);
+    }
+
+    // 로그인하지 않은 요청의 버킷 (LoginRateLimitFilter 와 같은 버킷을 쓴다)
+    static String ipKey(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // 거절해야 하면(waitNanos > 0) 429 와 Retry-After(초, 올림)를 쓰고 true
+    static boolean tooManyRequests(HttpServletResponse response, long waitNanos) {
+        if (waitNanos <= 0) {
+            return false;
+        }
+
+        long seconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1); // 올림
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        return true;
+    }
+
+    /*
+    사용자를 알려면 세션이나 토큰으로 인증한 뒤여야 하므로 이 필터만 시큐리티 필터 체인 다음에 둔다.
+    (시큐리티 필터 체인은 요청을 다음 서블릿 필터로 넘기는 동안 SecurityContextHolder 에 인증 정보를 유지한다.)
+    쿠키나 토큰 값으로 구분하면 임의의 값을 보내서 새 버킷을 계속 받을 수 있으므로, 검증된 인증 정보만 사용자 구분에 쓴다.
+
+    쓰기 요청은 write-cost 개의 토큰을 쓰므로 읽기보다 적게 허용된다.
+    폼 로그인(POST /login)은 UsernamePasswordAuthenticationFilter 가 응답을 끝내고 다음 필터로 넘기지 않아서 이 필터에 오지 않는다.
+    그래서 로그인은 시큐리티 앞의 LoginRateLimitFilter 가 같은 IP 버킷으로 제한한다.
+    프록시 뒤에서 실행하면 server.forward-headers-strategy 를 설정해야 getRemoteAddr() 가 실제 클라이언트 IP 가 된다.
+     */
+}
@@ -0,0 +1,78 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+final class ClientRateLimiter implements MeterBinder {
+    /*
+    사용자(또는 IP)별 토큰 버킷 제한기
+    초당 rate 개씩 토큰이 채워지고 최대 burst 개까지 모인다. 요청마다 cost 개의 토큰을 쓰고, 토큰이 모자라면 거절한다.
+     */
+
+    private final long emissionIntervalNanos; // 토큰 하나가 채워지는 시간
+    private final long capacityNanos; // 버킷이 가득 찰 때까지의 시간 (burst 개)
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+    private final LongAdder rejected = new LongAdder();
+
+    ClientRateLimiter(double rate, int burst, long maximumClients) {
+        this(rate, burst, maximumClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(double rate, int burst, long maximumClients, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = (long) (Duration.ofSeconds(1).toNanos() / rate);
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients) // 1. 추적할 최대 사용자 수
+                .expireAfterAccess(Duration.ofNanos(capacityNanos)) // 2. 버킷이 다시 가득 찰 만큼 요청이 없으면 제거 (잃는 정보 없음)
+                .build();
+    }
+
+    // 허용하면 0, 거절하면 다시 시도할 수 있을 때까지 남은 시간(ns)
+    long tryConsume(String client, int cost) {
+        AtomicLong bucket = buckets.get(client, key -> new AtomicLong(nanoClock.getAsLong()));
+        long costNanos = cost * emissionIntervalNanos;
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long available = bucket.get(); // 이 시각이 되면 토큰을 모두 쓴 상태가 되는 시각
+            long next = (available - now > 0 ? available : now) + costNanos;
+            long wait = next - now - capacityNanos;
+
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(available, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // blog.admission.rejected{reason=rate} 지표 등록
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blog.admission.rejected", rejected, LongAdder::sum)
+                .tag("reason", "rate")
+                .register(registry);
+    }
+
+    /*
+    토큰 수를 직접 세는 대신 GCRA(Generic Cell Rate Algorithm) 방식으로 "버킷이 빌 시각" 하나만 저장한다. (토큰 버킷과 같은 결과)
+    - 요청마다 그 시각을 cost x (토큰 하나가 채워지는 시간) 만큼 뒤로 미룬다.
+    - 미룬 시각이 지금부터 capacity(burst 개가 채워지는 시간) 보다 멀면 토큰이 모자란 것이므로 거절하고, 그 차이가 Retry-After 가 된다.
+    - 시간이 지나면 저장된 시각이 과거가 되므로 별도의 토큰 채우기 작업이 없다.
+    상태가 long 하나라서 사용자별 AtomicLong 의 compareAndSet 만으로 갱신하고 락을 쓰지 않는다.
+
+    사용자별 버킷은 Caffeine 캐시에 두어 사용자 수가 많아도 메모리가 제한된다. 캐시에서 밀려난 사용자는 가득 찬 버킷으로 다시 시작한다.
+     */
+}
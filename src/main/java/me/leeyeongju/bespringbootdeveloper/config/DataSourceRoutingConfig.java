@@ -0,0 +1,93 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    /*
+    읽기/쓰기 데이터 소스 분리 설정 파일 (blog.datasource.routing.enabled=true 일 때만 사용)
+     */
+
+    // 1. 프라이머리 : spring.datasource.* 설정으로 만드는 기존 커넥션 풀
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // 2. 레플리카 커넥션 풀과 라우팅 데이터 소스
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+                                                        @Value("${blog.datasource.routing.replica-urls}") List<String> replicaUrls,
+                                                        @Value("${blog.datasource.routing.replica-pool-size:10}") int replicaPoolSize,
+                                                        @Value("${blog.datasource.routing.read-your-writes-window:0s}") Duration readYourWritesWindow) {
+        List<DataSource> replicas = new ArrayList<>();
+
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1); // 레플리카가 내려가 있어도 애플리케이션은 시작 (프라이머리로 대체)
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry)); // hikaricp.* {pool=replica-n}
+            replicas.add(replica);
+        }
+
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, DataSourceRoutingConfig::currentUser, readYourWritesWindow);
+    }
+
+    // 3. JPA 와 트랜잭션 매니저가 사용하는 데이터 소스 : 첫 쿼리 시점에 라우팅하도록 지연 프록시로 감싼다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getName();
+    }
+
+    /*
+    데이터 소스 구성 : dataSource(LazyConnectionDataSourceProxy) -> routingDataSource -> primaryDataSource 또는 replica-n
+        @Primary 인 dataSource 를 만들면 스프링 부트의 기본 데이터 소스 자동 구성은 사용되지 않는다.
+        schema.sql, data.sql 과 하이버네이트 ddl-auto 는 트랜잭션 밖에서 실행되므로 프라이머리에만 적용된다.
+    blog.datasource.routing.replica-urls : 레플리카 JDBC URL 목록(쉼표로 구분), 계정은 프라이머리와 같다.
+    blog.datasource.routing.read-your-writes-window : 로그인한 사용자가 쓰기 트랜잭션을 커밋한 뒤 이 시간 동안은 읽기도 프라이머리에서 한다. (0s 이면 사용하지 않음)
+    blog.datasource.routing.health-check-interval-ms : ReadWriteRoutingDataSource.checkReplicas() 실행 주기
+     */
+}
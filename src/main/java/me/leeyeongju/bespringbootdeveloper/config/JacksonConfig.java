@@ -0,0 +1,44 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+    /*
+    API 응답 직렬화 설정 파일
+     */
+
+    // 1. 게터 호출을 리플렉션 대신 미리 생성한 람다로 처리하는 모듈 (스프링 부트가 모든 ObjectMapper 에 등록)
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // 2. Accept: application/cbor 요청에는 CBOR 로 응답 (요청 본문도 Content-Type: application/cbor 로 받을 수 있음)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /*
+    1. BlackbirdModule :
+    Jackson 은 DTO 의 게터를 처음 직렬화할 때 찾아서 캐시하지만, 값을 읽을 때마다 Method.invoke() 로 호출한다.
+    Blackbird 는 첫 직렬화 시점에 LambdaMetafactory 로 게터마다 Function 을 만들어서 이후에는 일반 메서드 호출처럼 읽는다.
+    (JIT 가 인라인할 수 있음) 직렬화 결과는 그대로이고, 생성에 실패하는 프로퍼티는 기존 방식으로 처리한다.
+    DTO 는 모두 final 필드와 게터만 있는 불변 객체이므로 직렬화 중에 값이 바뀌거나 쿼리가 실행되지 않는다.
+
+    2. CBOR (RFC 8949) :
+    내부 서비스 간 호출처럼 사람이 응답을 읽을 필요가 없을 때 사용한다. 숫자와 날짜를 이진 값으로 보내고 문자열 따옴표/이스케이프가 없어 크기와 직렬화 비용이 줄어든다.
+    스프링 부트의 Jackson2ObjectMapperBuilder 로 만들기 때문에 JSON 과 같은 설정(날짜 형식, 등록된 모듈)을 사용한다.
+    빈으로 등록하면 스프링 부트가 기본 메시지 컨버터 목록에 추가하고, JSON 컨버터가 앞에 있으므로 Accept 가 없거나 */* 면 기존처럼 JSON 으로 응답한다.
+    같은 URL 이 Accept 에 따라 다른 본문을 응답하므로 ConditionalRequests 가 Vary: Accept 를 붙이고 ETag 도 형식별로 구분한다.
+
+    페이로드 크기와 직렬화 비용 비교 : ./gradlew jmh -PjmhIncludes=ArticlePayloadBenchmark
+     */
+}
@@ -0,0 +1,31 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+    /*
+    spring.main.lazy-initialization=true (faststart 프로필) 일 때도 시작 시 만들어야 하는 빈을 지정하는 설정
+     */
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructureBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+    }
+
+    /*
+    지연 초기화를 켜면 빈은 처음 사용할 때 만들어진다.
+    컨트롤러, 서비스 같은 빈은 첫 요청에서 만들어져도 비용이 작지만,
+    커넥션 풀과 EntityManagerFactory(하이버네이트 메타데이터 구성, 스키마 검증)는 수백 ms 가 걸리므로 첫 요청이 느려지고
+    스키마 불일치 같은 오류도 시작이 아니라 첫 요청에서 드러난다. 그래서 이 두 종류는 항상 시작 시 만든다.
+
+    @Scheduled 메서드가 있는 빈(ArticleViewCounter, TrendingArticles, ArticleSearchIndex 등)은
+    스프링 부트가 이미 지연 초기화에서 제외한다. (ScheduledBeanLazyInitializationExcludeFilter)
+    lazy-initialization 이 false 이면 이 필터는 아무 영향이 없다.
+     */
+}
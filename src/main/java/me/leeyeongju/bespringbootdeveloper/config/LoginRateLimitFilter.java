@@ -0,0 +1,52 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+final class LoginRateLimitFilter extends OncePerRequestFilter {
+    /*
+    스프링 시큐리티보다 먼저 실행되어, 폼 로그인(POST /login)을 IP 주소별로 제한하는 필터 (ClientRateLimiter)
+    넘으면 패스워드 해시 전에 429 Too Many Requests 와 Retry-After 로 응답한다.
+     */
+
+    private static final String LOGIN_PATH = "/login";
+
+    private final ClientRateLimiter rateLimiter;
+    private final int loginCost;
+
+    LoginRateLimitFilter(ClientRateLimiter rateLimiter, int loginCost) {
+        this.rateLimiter = rateLimiter;
+        this.loginCost = loginCost;
+    }
+
+    // 로그인 요청(POST /login)만 제한하고 나머지는 그대로 통과
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !LOGIN_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryConsume(ClientRateLimitFilter.ipKey(request), loginCost);
+
+        if (ClientRateLimitFilter.tooManyRequests(response, waitNanos)) {
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /*
+    UsernamePasswordAuthenticationFilter 는 POST /login 을 처리하면 성공/실패 응답(리다이렉트)을 쓰고 다음 필터로 넘기지 않는다.
+    그래서 시큐리티 다음에 있는 ClientRateLimitFilter 로는 로그인을 제한할 수 없고, 이 필터를 시큐리티 앞에 둔다.
+    로그인 전에는 사용자를 알 수 없으므로 ClientRateLimitFilter 의 익명 요청과 같은 IP 버킷(ip:주소)을 쓴다.
+    로그인 실패 횟수가 아니라 시도 횟수를 세므로, 패스워드 대입 공격과 해시 대기열(BoundedPasswordEncoder)을 채우는 요청을 모두 막는다.
+     */
+}
@@ -0,0 +1,32 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    /*
+    Micrometer 지표 관련 설정 파일
+     */
+
+    // @Timed 어노테이션이 붙은 클래스, 메서드의 실행 시간을 Timer 로 기록하는 애스펙트 등록
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /*
+    수집되는 지표 :
+    http.server.requests : 스프링 MVC 가 모든 컨트롤러 핸들러(BlogApiController, BlogViewController, UserApiController 등)에 대해 uri, method, status 별로 기록하는 타이머
+    blog.service : BlogService 의 @Timed 로 기록되는 메서드별 타이머 (class, method 태그)
+    hibernate.* : 하이버네이트 Statistics (실행한 쿼리 수, 엔티티 로드 수, 2차 캐시 적중 수 등)
+    hikaricp.* : 커넥션 풀 지표 (사용 중/대기 중 커넥션 수, 커넥션 획득 시간 등)
+    cache.* : ArticleCache 적중/실패 지표
+    (요청별 SQL 문장 수, DB 시간은 지표가 아니라 응답의 Server-Timing 헤더와 로그로 남긴다. SqlAccountingConfig 참고)
+
+    두 타이머 모두 application.yml 에서 percentiles-histogram 을 켜서 버킷만 기록하고, p50/p99 는 Prometheus 쪽에서 계산한다.
+    (애플리케이션에서 백분위수를 직접 계산하지 않으므로 요청 경로의 비용이 적다.)
+     */
+}
@@ -0,0 +1,158 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    /*
+    읽기 전용 트랜잭션(@Transactional(readOnly = true))은 레플리카로, 나머지는 프라이머리로 보내는 데이터 소스
+    반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다. (트랜잭션 속성이 정해진 뒤 첫 쿼리 시점에 커넥션을 얻도록)
+     */
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Supplier<String> currentUser;
+    private final Cache<String, Boolean> recentWriters; // 읽기-쓰기 일관성 유지 시간이 0 이면 null
+
+    private final Set<Integer> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      Supplier<String> currentUser, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.currentUser = currentUser;
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isRecentWriter()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+
+        recordWrite();
+        return primary.getConnection(); // 쓰기 트랜잭션, 트랜잭션 밖, 또는 사용할 수 있는 레플리카가 없을 때
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routing data source does not support per-call credentials");
+    }
+
+    // 레플리카마다 커넥션 유효성을 확인해서 장애/복구 상태를 갱신
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean healthy;
+
+            try (Connection connection = replicas.get(i).getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy && unhealthyReplicas.remove(i)) {
+                log.info("Replica {} is healthy again, routing read-only transactions to it", i);
+            } else if (!healthy && unhealthyReplicas.add(i)) {
+                log.warn("Replica {} failed its health check, routing its reads to the primary", i);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // 정상 레플리카를 돌아가며 사용하고, 커넥션을 얻지 못한 레플리카는 다음 헬스 체크까지 제외
+    private Connection replicaConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+
+        for (int n = 0; n < size; n++) {
+            int i = (start + n) % size;
+
+            if (unhealthyReplicas.contains(i)) {
+                continue;
+            }
+
+            try {
+                return replicas.get(i).getConnection();
+            } catch (SQLException e) {
+                unhealthyReplicas.add(i);
+                log.warn("Replica {} is unavailable, falling back: {}", i, e.getMessage());
+            }
+        }
+
+        return null;
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 그 사용자를 일정 시간 동안 프라이머리에서 읽도록 기록
+    private void recordWrite() {
+        if (recentWriters == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+
+        String user = currentUser.get();
+        if (user == null) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private boolean isRecentWriter() {
+        if (recentWriters == null) {
+            return false;
+        }
+
+        String user = currentUser.get();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    /*
+    라우팅 기준 : TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        트랜잭션 매니저는 트랜잭션을 시작할 때 커넥션을 먼저 얻고 나서 readOnly 속성을 기록한다.
+        LazyConnectionDataSourceProxy 로 감싸면 실제 커넥션은 첫 쿼리를 실행할 때 얻으므로 그때는 readOnly 여부를 알 수 있다.
+    장애 처리 : 레플리카 커넥션을 얻지 못하면 그 레플리카를 제외하고 다른 레플리카, 마지막으로 프라이머리에서 읽는다.
+        제외된 레플리카는 checkReplicas()(주기적인 헬스 체크)가 다시 정상으로 확인하면 사용한다.
+    읽기-쓰기 일관성(read-your-writes) : 레플리카는 복제 지연이 있으므로 방금 글을 쓴 사용자가 목록을 보면 자기 글이 없을 수 있다.
+        쓰기 트랜잭션을 커밋한 사용자는 readYourWritesWindow 동안 읽기 전용 트랜잭션도 프라이머리에서 실행한다.
+     */
+}
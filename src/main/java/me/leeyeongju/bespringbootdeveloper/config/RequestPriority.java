@@ -0,0 +1,32 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+enum RequestPriority {
+    /*
+    부하를 줄일 때(load shedding) 요청을 구분하는 우선순위
+    WRITE : 글 등록/수정/삭제, 로그인처럼 상태를 바꾸는 요청 (가장 나중에 거절)
+    READ : 글 조회, 목록 화면처럼 DB 를 읽는 요청
+    STATIC : js, css, 이미지, 액추에이터처럼 DB 를 쓰지 않는 요청 (제한하지 않음)
+     */
+
+    WRITE, READ, STATIC;
+
+    private static final String[] STATIC_PREFIXES = {"/js/", "/css/", "/images/", "/favicon.ico", "/actuator/", "/h2-console"};
+    private static final String MULTI_GET_PATH = "/api/articles/multi-get";
+
+    static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        for (String prefix : STATIC_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return STATIC;
+            }
+        }
+
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> MULTI_GET_PATH.equals(path) ? READ : WRITE; // 여러 글 조회는 POST 지만 읽기
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "blog.sql.accounting.enabled", havingValue = "true")
+public class SqlAccountingConfig {
+    /*
+    요청별 SQL 실행 통계 설정 파일 (blog.sql.accounting.enabled=true 일 때만 사용)
+     */
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    // 1. JPA, JdbcTemplate 이 사용하는 데이터 소스를 datasource-proxy 로 감싼다.
+    @Bean
+    static BeanPostProcessor sqlAccountingDataSourcePostProcessor(
+            @Value("${blog.sql.accounting.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${blog.sql.accounting.slow-query-sample-rate:1.0}") double slowQuerySampleRate) {
+        SqlAccountingListener listener = new SqlAccountingListener(slowQueryThreshold, slowQuerySampleRate);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE_BEAN_NAME)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 2. 요청마다 통계를 모으는 필터 : 스프링 시큐리티 필터보다 먼저 실행 (인증 과정의 사용자 조회도 포함)
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            @Value("${blog.sql.accounting.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(repeatedStatementThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /*
+    기존에는 spring.jpa.show-sql 로 모든 SQL 을 표준 출력에 찍었는데, 요청마다 몇 개의 쿼리가 실행됐는지는 알 수 없었고
+    출력 자체가 동기 I/O 라서 부하가 걸리면 응답 시간에도 영향을 줬다.
+    대신 datasource-proxy 로 JDBC 호출을 가로채서 요청 단위로 문장 수, 행 수, DB 시간을 센다. (SqlRequestStats)
+
+    1. BeanPostProcessor :
+    이름이 dataSource 인 빈만 감싼다. (기본 HikariDataSource, 또는 라우팅을 켰을 때의 LazyConnectionDataSourceProxy)
+    레플리카 라우팅을 켜도 프라이머리/레플리카 풀이 아니라 가장 바깥의 데이터 소스를 감싸므로 모든 쿼리가 한 번씩만 기록된다.
+    ProxyDataSource 는 unwrap() 을 원래 데이터 소스로 넘기므로 hikaricp.* 지표는 그대로 수집된다.
+    static 메서드로 등록해야 다른 빈보다 먼저 만들어져서 데이터 소스 생성 시점에 적용된다.
+
+    proxyResultSet() : ResultSet 도 프록시로 감싸서 next() 호출로 읽은 행 수를 센다.
+
+    2. 기본값은 비활성화이고 개발할 때 dev 프로필(application-dev.yml)로 켠다.
+    켜면 모든 JDBC 호출이 프록시와 리스너(메서드 리스너 포함)를 한 번씩 더 거치고, ResultSet.next() 도 호출마다 프록시를 지나며 센다.
+    호출당 비용은 작지만 행을 많이 읽는 요청일수록 누적되므로 운영 기본값으로는 켜지 않는다.
+    비활성화일 때는 이 설정 전체가 등록되지 않으므로 데이터 소스는 감싸지지 않고 필터도 없다. (오버헤드 없음)
+
+    SQL 내용을 확인해야 할 때는 logging.level.org.hibernate.SQL=DEBUG 로 하이버네이트 SQL 로그를 켠다.
+     */
+}
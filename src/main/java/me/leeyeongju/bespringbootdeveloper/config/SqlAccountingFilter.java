@@ -0,0 +1,90 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+final class SqlAccountingFilter extends OncePerRequestFilter {
+    /*
+    요청마다 SqlRequestStats 를 시작하고, 응답 헤더(Server-Timing)와 N+1 경고 로그를 남기는 필터
+     */
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final int repeatedStatementThreshold;
+
+    SqlAccountingFilter(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        ServerTimingResponse timingResponse = new ServerTimingResponse(response, stats);
+
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            timingResponse.addServerTiming(); // 본문이 없어서 아직 커밋되지 않은 응답
+            SqlRequestStats.clear();
+            warnRepeatedStatements(request, stats);
+
+            if (log.isDebugEnabled()) {
+                log.debug("sql_request method={} uri={} round_trips={} statements={} rows={} db_ms={} total_ms={}",
+                        request.getMethod(), request.getRequestURI(), stats.getRoundTrips(), stats.getStatements(), stats.getRows(),
+                        SqlRequestStats.millis(stats.dbMillis()), SqlRequestStats.millis(stats.totalMillis()));
+            }
+        }
+    }
+
+    // 같은 모양의 SQL 이 threshold 번을 넘는 왕복에서 실행되면 N+1 의심으로 경고 (batch 는 한 번)
+    private void warnRepeatedStatements(HttpServletRequest request, SqlRequestStats stats) {
+        stats.getStatementShapes().forEach((shape, count) -> {
+            if (count > repeatedStatementThreshold) {
+                log.warn("repeated_statement method={} uri={} count={} threshold={} sql=\"{}\"",
+                        request.getMethod(), request.getRequestURI(), count, repeatedStatementThreshold, shape);
+            }
+        });
+    }
+
+    // 응답이 커밋되기 직전에 Server-Timing 헤더를 붙이는 응답 래퍼
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean added;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTiming();
+        }
+
+        private void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader(SERVER_TIMING_HEADER, stats.serverTiming());
+            }
+        }
+    }
+
+    /*
+    헤더는 응답이 커밋되기 전에만 붙일 수 있다. 컨트롤러가 본문을 쓰기 시작하면(flush, 본문 길이 도달 등) 커밋되므로,
+    OnCommittedResponseWrapper(스프링 시큐리티)로 커밋 직전에 그때까지의 값으로 헤더를 만든다.
+    따라서 본문을 쓰는 도중에 실행된 SQL(스트리밍 내보내기 등)은 헤더에는 빠지고 로그에만 포함된다.
+
+    Server-Timing 예시 : db;dur=3.2;desc="2 round trips, 2 statements, 21 rows", total;dur=12.4
+    브라우저 개발자 도구의 Network > Timing 탭에서 DB 시간과 전체 시간을 바로 비교할 수 있다.
+     */
+}
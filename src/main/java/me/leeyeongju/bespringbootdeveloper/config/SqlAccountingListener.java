@@ -0,0 +1,114 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+final class SqlAccountingListener implements QueryExecutionListener, MethodExecutionListener {
+    /*
+    datasource-proxy 가 SQL 실행과 JDBC 메서드 호출마다 알려주는 리스너
+    요청 중이면 SqlRequestStats 에 기록하고, 느린 쿼리는 샘플링해서 로그로 남긴다.
+     */
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("blog.sql.slow");
+
+    // beforeQuery() 에서 잰 시작 시각을 afterQuery() 로 넘기는 키
+    private static final String START_NANOS = SqlAccountingListener.class.getName() + ".startNanos";
+
+    private final long slowQueryNanos;
+    private final double slowQuerySampleRate;
+
+    SqlAccountingListener(Duration slowQueryThreshold, double slowQuerySampleRate) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.slowQuerySampleRate = slowQuerySampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        long elapsedNanos = elapsedNanos(execInfo);
+
+        if (stats != null) {
+            List<String> sqls = new ArrayList<>(queryInfoList.size());
+            for (QueryInfo queryInfo : queryInfoList) {
+                sqls.add(queryInfo.getQuery());
+            }
+
+            int executions = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : 1;
+            stats.recordRoundTrip(sqls, executions, elapsedNanos); // batch 도 한 번의 왕복으로 기록
+            stats.recordRows(updatedRows(execInfo.getResult()));
+        }
+
+        if (elapsedNanos >= slowQueryNanos && ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+            SLOW_QUERY_LOG.warn("slow_query elapsed_ms={} batch_size={} success={} sql=\"{}\"",
+                    SqlRequestStats.millis(elapsedNanos / 1_000_000.0), execInfo.getBatchSize(), execInfo.isSuccess(),
+                    queryInfoList.isEmpty() ? "" : SqlRequestStats.shape(queryInfoList.get(0).getQuery()));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    // SELECT 결과 행 수 : ResultSet.next() 가 true 를 반환한 횟수
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.recordRows(1);
+            }
+        }
+    }
+
+    // beforeQuery() 에서 기록한 시작 시각이 없으면(리스너 등록 순서 등) datasource-proxy 가 잰 밀리초 값을 쓴다.
+    private static long elapsedNanos(ExecutionInfo execInfo) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        return startNanos == null
+                ? execInfo.getElapsedTime() * 1_000_000
+                : System.nanoTime() - startNanos;
+    }
+
+    // INSERT/UPDATE/DELETE 결과 행 수 (executeUpdate : int, executeBatch : int[])
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return 0;
+    }
+
+    /*
+    느린 쿼리 로그는 blog.sql.slow 로거에 key=value 형식으로 남긴다. (로그 수집기에서 필드로 검색할 수 있도록)
+    slow-query-sample-rate 가 1 보다 작으면 느린 쿼리 중 일부만 남겨서, DB 전체가 느려졌을 때 로그가 폭주하지 않도록 한다.
+    실행 시간은 beforeQuery() 와 afterQuery() 사이를 System.nanoTime() 으로 직접 잰다.
+        datasource-proxy 의 getElapsedTime() 은 밀리초 단위라서 1ms 보다 짧은 쿼리는 0 이 되고, 이를 합치면 DB 시간이 실제보다 작아진다.
+    batch 는 문장 수(batch_size)와 상관없이 한 번의 왕복으로 기록한다. 문장 수는 statements 에만 더해지고 N+1 판단(문장 모양별 횟수)에는 1 로 센다.
+    Statement.executeBatch() 는 결과가 SUCCESS_NO_INFO(-2)일 수 있으므로 음수는 0 으로 센다.
+     */
+}
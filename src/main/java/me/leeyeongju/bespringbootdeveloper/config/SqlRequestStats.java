@@ -0,0 +1,106 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Getter
+final class SqlRequestStats {
+    /*
+    HTTP 요청 하나에서 실행된 SQL 의 문장 수, 읽고 쓴 행 수, DB 시간을 모으는 클래스
+    요청을 처리하는 스레드에만 묶여 있으므로(ThreadLocal) 동기화하지 않는다.
+     */
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+    private int roundTrips;
+    private int statements;
+    private long rows;
+    private long dbNanos;
+
+    static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // DB 왕복 한 번(execute 또는 executeBatch)을 기록 : executions 는 그 왕복에서 실행된 문장 수
+    void recordRoundTrip(Collection<String> sqls, int executions, long elapsedNanos) {
+        roundTrips++;
+        statements += executions;
+        dbNanos += elapsedNanos;
+
+        for (String shape : shapes(sqls)) {
+            statementShapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    private static Collection<String> shapes(Collection<String> sqls) {
+        Collection<String> shapes = new HashSet<>();
+        for (String sql : sqls) {
+            shapes.add(shape(sql));
+        }
+        return shapes;
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    double dbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    double totalMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    // Server-Timing 헤더 값 : db(왕복 수, 문장 수, 행 수, DB 시간), total(요청 전체 시간)
+    String serverTiming() {
+        return "db;dur=" + millis(dbMillis()) + ";desc=\"" + roundTrips + " round trips, " + statements + " statements, " + rows + " rows\", "
+                + "total;dur=" + millis(totalMillis());
+    }
+
+    // 소수점 한 자리 (로케일에 따라 쉼표가 되지 않도록 Locale.ROOT)
+    static String millis(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    // 값만 다른 SQL 을 같은 모양으로 묶는다. (리터럴 -> ?, IN (?, ?, ...) -> IN (?))
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /*
+    roundTrips : DB 왕복 수. JDBC batch 는 문장이 몇 개든 executeBatch() 한 번이 한 번의 왕복이다.
+    statements : 실행된 문장 수. JDBC batch 는 묶인 문장 수만큼 센다. (batch_size 50 이면 executeBatch() 한 번에 50)
+    dbNanos : 문장 실행(execute) 시간의 합을 나노초로 모은다. 밀리초로 모으면 1ms 보다 짧은 쿼리가 0 으로 버려져서 빠른 쿼리가 많을수록 DB 시간이 작게 보인다.
+        결과 행을 읽는(ResultSet.next) 시간은 포함하지 않는다.
+    statementShapes : 같은 모양의 SQL 이 몇 번의 왕복에서 실행되었는지 센다. 글 목록을 조회한 뒤 글마다 같은 SELECT 가 반복되면(N+1) 여기서 드러난다.
+        batch 는 한 번으로 센다. 대량 등록처럼 INSERT 50 건을 한 번의 batch 로 보낸 것은 N+1 이 아니기 때문이다.
+    하이버네이트는 PreparedStatement 를 쓰므로 SQL 에 값 대신 ? 가 들어 있고, 모양 정규화는 JdbcTemplate 등의 리터럴 SQL 을 위한 것이다.
+     */
+}
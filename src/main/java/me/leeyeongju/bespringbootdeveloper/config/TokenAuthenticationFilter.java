@@ -0,0 +1,51 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    /*
+    Authorization: Bearer <토큰> 헤더의 액세스 토큰을 검증해서 인증 정보를 설정하는 필터
+    토큰에 담긴 값만 사용하므로 DB 나 세션을 조회하지 않는다.
+     */
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            tokenProvider.parse(header.substring(BEARER_PREFIX.length())).ifPresent(claims -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        claims.getEmail(), null, claims.getAuthorities()));
+                SecurityContextHolder.setContext(context);
+            });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /*
+    토큰이 없거나 잘못된 경우에는 인증 정보를 설정하지 않고 넘긴다.
+    인증이 필요한 요청이면 이후 인가 단계에서 401 로 응답한다. (TokenSecurityConfig 의 authenticationEntryPoint)
+
+    principal 은 email 문자열이다. (Authentication.getName() 이 email 을 반환하므로 세션 방식과 같은 값을 사용)
+    @Component 로 등록하면 스프링 부트가 모든 요청에 적용되는 서블릿 필터로도 등록하므로, TokenSecurityConfig 에서 직접 생성한다.
+     */
+}
@@ -0,0 +1,257 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog.security.token.enabled", havingValue = "true")
+public class TokenProvider {
+    /*
+    HMAC-SHA256 으로 서명한 짧은 수명의 액세스 토큰(JWT 형식)을 만들고 검증하는 클래스
+    검증은 서명, 만료 시각, 폐기 목록만 확인하므로 DB 나 세션을 조회하지 않는다.
+     */
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final Mac prototype; // 키로 초기화해 둔 Mac, 요청마다 복제해서 사용
+    private final Duration accessTokenTtl;
+    private final Cache<String, Instant> revokedTokenIds; // jti -> 토큰 만료 시각
+    private final long revocationCapacity;
+    private final Clock clock;
+
+    @Autowired
+    public TokenProvider(ObjectMapper objectMapper,
+                         @Value("${blog.security.token.secret:}") String secret,
+                         @Value("${blog.security.token.access-token-ttl:15m}") Duration accessTokenTtl,
+                         @Value("${blog.security.token.revocation-capacity:10000}") long revocationCapacity) {
+        this(objectMapper, secret, accessTokenTtl, revocationCapacity, Clock.systemUTC());
+    }
+
+    public TokenProvider(ObjectMapper objectMapper, String secret, Duration accessTokenTtl,
+                         long revocationCapacity, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.prototype = initMac(secretKey(secret));
+        this.accessTokenTtl = accessTokenTtl;
+        this.clock = clock;
+        this.revocationCapacity = revocationCapacity;
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpires()) // 폐기한 토큰도 만료되면 어차피 거부되므로 그 토큰의 exp 까지만 기억
+                .build();
+    }
+
+    // 액세스 토큰 발급
+    public String createAccessToken(long userId, String email, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = clock.instant();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", email);
+        payload.put("uid", userId);
+        payload.put("roles", authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        payload.put("iat", now.getEpochSecond());
+        payload.put("exp", now.plus(accessTokenTtl).getEpochSecond());
+        payload.put("jti", UUID.randomUUID().toString());
+
+        String unsigned;
+        try {
+            unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize token payload", e);
+        }
+
+        return unsigned + "." + ENCODER.encodeToString(sign(unsigned));
+    }
+
+    // 액세스 토큰 검증 : 서명이 맞고, 만료되지 않았고, 폐기되지 않은 경우에만 값을 반환
+    public Optional<Claims> parse(String token) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return Optional.empty();
+        }
+
+        // 헤더를 고정값과 비교해서 alg 변경(none 등) 공격을 막는다.
+        if (!HEADER.equals(token.substring(0, first))) {
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(sign(token.substring(0, second)), signature)) {
+                return Optional.empty();
+            }
+
+            claims = readClaims(DECODER.decode(token.substring(first + 1, second)));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty(); // base64 나 JSON 형식이 잘못된 토큰
+        }
+
+        if (!claims.getExpiresAt().isAfter(clock.instant())
+                || revokedTokenIds.getIfPresent(claims.getTokenId()) != null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(claims);
+    }
+
+    // 액세스 토큰 폐기 (로그아웃) : 폐기 목록이 가득 차면 다른 토큰을 밀어내지 않고 false 를 반환
+    public boolean revoke(Claims claims) {
+        if (revokedTokenIds.estimatedSize() >= revocationCapacity) {
+            revokedTokenIds.cleanUp(); // 만료된 항목을 먼저 정리
+
+            if (revokedTokenIds.estimatedSize() >= revocationCapacity) {
+                log.error("Access token revocation list is full (capacity={}), rejecting revocation of jti={}. " +
+                        "Increase blog.security.token.revocation-capacity or shorten access-token-ttl.",
+                        revocationCapacity, claims.getTokenId());
+                return false;
+            }
+        }
+
+        revokedTokenIds.put(claims.getTokenId(), claims.getExpiresAt());
+        return true;
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    private Claims readClaims(byte[] json) throws IOException {
+        JsonNode node = objectMapper.readTree(json);
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        node.path("roles").forEach(role -> authorities.add(new SimpleGrantedAuthority(role.asText())));
+
+        if (!node.hasNonNull("sub") || !node.hasNonNull("exp") || !node.hasNonNull("jti")) {
+            throw new IllegalArgumentException("Missing token claims");
+        }
+
+        return new Claims(node.path("uid").asLong(), node.get("sub").asText(), List.copyOf(authorities),
+                node.get("jti").asText(), Instant.ofEpochSecond(node.get("exp").asLong()));
+    }
+
+    private byte[] sign(String value) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(value.getBytes(UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC implementation does not support clone()", e);
+        }
+    }
+
+    private static byte[] secretKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            byte[] generated = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(generated);
+            log.warn("blog.security.token.secret is not set, using a random key. " +
+                    "Issued tokens become invalid on restart and are not accepted by other instances.");
+            return generated;
+        }
+
+        byte[] key = Base64.getDecoder().decode(secret);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("blog.security.token.secret must be at least "
+                    + MIN_SECRET_BYTES + " bytes (base64 encoded)");
+        }
+        return key;
+    }
+
+    private static Mac initMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+        }
+    }
+
+    // 폐기 목록의 항목마다 그 토큰의 만료 시각(exp)까지 남은 시간을 수명으로 정한다.
+    private final class UntilTokenExpires implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(Duration.between(clock.instant(), expiresAt).toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static final class Claims {
+        // 검증을 통과한 액세스 토큰의 값
+        private final long userId;
+        private final String email;
+        private final List<GrantedAuthority> authorities;
+        private final String tokenId;
+        private final Instant expiresAt;
+    }
+
+    /*
+    토큰 형식 : base64url(헤더).base64url(페이로드).base64url(HMAC-SHA256 서명)  (HS256 JWT 와 같은 형식)
+    페이로드 : sub(email), uid(사용자 id), roles(권한), iat/exp(발급/만료 시각, 초), jti(토큰 id)
+
+    키 캐시 :
+    비밀 키는 시작할 때 한 번만 디코딩해서 Mac 을 초기화해 두고, 요청마다 clone() 으로 복제해서 사용한다.
+    Mac 은 스레드 안전하지 않지만, 복제는 키 초기화 없이 내부 상태만 복사하므로 매번 getInstance()/init() 하는 것보다 싸다.
+    (ThreadLocal 캐시는 가상 스레드 모드에서 요청마다 새로 만들어지므로 사용하지 않음)
+    서명 비교는 MessageDigest.isEqual() 로 해서 비교 시간으로 서명을 추측할 수 없도록 한다.
+
+    폐기 목록 :
+    로그아웃한 토큰의 jti 만 메모리(Caffeine)에 그 토큰의 만료 시각(exp)까지 보관한다. 만료된 뒤에는 서명 검증 단계에서 만료로 거부되므로 기억할 필요가 없다.
+    크기 제한(maximumSize)으로 항목을 밀어내면 아직 만료되지 않은 폐기 토큰이 다시 통과하게 된다. (fail-open)
+    그래서 항목은 만료로만 제거하고, 만료되지 않은 항목이 revocation-capacity 만큼 차 있으면 새 폐기를 거절(false)하고 에러 로그를 남긴다.
+    TokenService 는 거절된 폐기를 503 으로 응답하므로, 클라이언트는 로그아웃이 처리되지 않았다는 것을 알고 다시 시도할 수 있다.
+    폐기 목록은 인스턴스마다 따로 있으므로, 여러 대로 운영할 때는 폐기된 토큰이 다른 인스턴스에서 만료 전까지 통과할 수 있다.
+    (즉시 차단이 필요하면 액세스 토큰 수명을 더 줄이고 리프레시 토큰을 폐기한다.)
+
+    blog.security.token.secret 은 32바이트 이상의 base64 값이다. 비어 있으면 시작할 때마다 임의의 키를 만든다.
+     */
+}
@@ -0,0 +1,54 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "blog.security.token.enabled", havingValue = "true")
+public class TokenSecurityConfig {
+    /*
+    /api/** 요청을 세션 대신 서명된 액세스 토큰으로 인증하는 보안 설정 (blog.security.token.enabled=true 일 때만)
+    나머지 경로(뷰, 로그인 페이지 등)는 WebSecurityConfig 의 세션/폼 로그인 설정을 그대로 사용한다.
+     */
+
+    @Bean
+    @Order(1) // WebSecurityConfig 의 기본 필터 체인보다 먼저 /api/** 를 확인
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, TokenProvider tokenProvider) throws Exception {
+        return http
+                .securityMatcher("/api/**")
+                .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/token", "/api/token/refresh").permitAll()
+                        .anyRequest().authenticated())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .csrf(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenProvider), UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    /*
+    SessionCreationPolicy.STATELESS : 세션을 만들지도, 세션에서 인증 정보를 읽지도 않는다.
+    요청마다 TokenAuthenticationFilter 가 토큰의 서명만 검증해서 인증 정보를 만들기 때문에
+    세션 저장소나 사용자 조회 없이 어느 인스턴스에서든 같은 요청을 처리할 수 있다.
+
+    인증되지 않은 요청은 로그인 페이지로 리다이렉트하지 않고 401 로 응답한다.
+    토큰 발급(/api/token)과 재발급(/api/token/refresh)은 토큰 없이 호출하므로 허용한다.
+     */
+}
@@ -0,0 +1,94 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL) // Java 21 이상 + spring.threads.virtual.enabled=true 일 때만 등록
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    /*
+    가상 스레드가 캐리어(플랫폼) 스레드에 고정(pinning)되는 이벤트를 JFR 로 수집해서 로그와 지표로 남긴다.
+     */
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+
+    private RecordingStream stream;
+    private volatile boolean running;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${blog.threads.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("blog.virtual-threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(threshold) // 1. threshold 보다 오래 고정된 경우만 기록
+                .withStackTrace(); // 2. 어느 코드(synchronized 블록 등)에서 고정됐는지 알 수 있도록 스택 포함
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync(); // 3. 별도 스레드에서 이벤트를 읽음
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stream.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms\n{}", event.getDuration().toMillis(), format(event.getStackTrace()));
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+
+        return stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(this::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private String format(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    /*
+    가상 스레드는 블로킹 I/O(JDBC 등)를 만나면 캐리어 스레드에서 내려오고 다른 가상 스레드가 그 캐리어를 사용한다.
+    하지만 synchronized 블록 안이나 네이티브 메서드에서 블로킹되면 캐리어에 고정되어 내려오지 못하고, 캐리어 수(CPU 코어 수)만큼만 동시에 처리된다.
+    JDBC 드라이버나 라이브러리 안의 synchronized 가 원인인 경우가 많으므로 스택을 보고 ReentrantLock 을 쓰는 버전으로 바꾸는 등의 조치를 한다.
+
+    blog.virtual-threads.pinned : 고정 횟수와 시간 (Prometheus 에서 blog_virtual_threads_pinned_seconds_count 등으로 조회)
+    blog.threads.pinning.threshold : 이 시간보다 짧은 고정은 기록하지 않는다. (짧은 synchronized 는 대부분 문제가 되지 않음)
+     */
+}
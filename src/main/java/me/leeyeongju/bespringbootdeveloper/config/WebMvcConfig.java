@@ -0,0 +1,65 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    /*
+    정적 리소스(js, css, 이미지) 제공 설정 파일
+     */
+
+    // 내용이 바뀌면 URL 이 바뀌므로 브라우저와 CDN 에 1년 동안 저장하고 재검증하지 않는다. (해시가 붙은 URL 에만 사용)
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    // 해시가 없는 URL 은 배포 후 내용이 바뀌어도 URL 이 같으므로 저장은 하되 매번 Last-Modified 로 재검증한다. (바뀌지 않았으면 304)
+    private static final CacheControl REVALIDATE = CacheControl.noCache()
+            .cachePublic();
+
+    // 파일 이름 끝에 내용의 MD5 해시(32자리 16진수)가 붙은 URL (예: /js/article-{해시}.js)
+    private static final String VERSIONED_FILE = "{file:[\\w.-]+-[0-9a-f]{32}\\.\\w+}";
+
+    private static final String[] LOCATIONS = {"classpath:/static/js/", "classpath:/static/css/", "classpath:/static/images/"};
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // 1. 해시가 붙은 URL : 더 구체적인 패턴이라 /js/** 보다 먼저 선택된다.
+        addResourceChain(registry.addResourceHandler("/js/" + VERSIONED_FILE, "/css/" + VERSIONED_FILE, "/images/" + VERSIONED_FILE)
+                .addResourceLocations(LOCATIONS)
+                .setCacheControl(IMMUTABLE));
+
+        // 2. 해시가 없는 URL (템플릿을 거치지 않는 요청, 직접 입력한 URL 등)
+        addResourceChain(registry.addResourceHandler("/js/**", "/css/**", "/images/**")
+                .addResourceLocations(LOCATIONS)
+                .setCacheControl(REVALIDATE));
+    }
+
+    private static void addResourceChain(ResourceHandlerRegistration registration) {
+        registration.resourceChain(true) // 1. 해석 결과를 캐시
+                .addResolver(new EncodedResourceResolver()) // 2. Accept-Encoding 에 따라 .br, .gz 사전 압축본 제공
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**")); // 3. 내용 해시가 붙은 URL 처리
+    }
+
+    /*
+    addResourceHandlers() :
+        /js/article.js 는 /js/article-{내용의 MD5 해시}.js 로도 제공된다. 템플릿에서 th:src="@{/js/article.js}" 로 쓰면
+        ResourceUrlEncodingFilter(spring.web.resources.chain.enabled)가 해시가 붙은 URL 로 바꿔서 렌더링한다.
+        파일 내용이 바뀌면 해시도 바뀌므로 Cache-Control: immutable 로 오래 캐시해도 배포 후 바로 새 파일을 받는다.
+        /js/article.js 처럼 해시가 없는 URL 까지 immutable 로 캐시하면 배포 후에도 1년 동안 이전 파일을 쓰게 되므로,
+        해시가 붙은 URL 만 따로 등록해서 immutable 을 붙이고 나머지는 no-cache(저장하되 매번 재검증)로 응답한다.
+        해시가 맞지 않는 URL(/js/article-{다른 해시}.js)은 VersionResourceResolver 가 찾지 못해 404 가 된다.
+        두 핸들러 모두 VersionResourceResolver 를 두어야 ResourceUrlProvider 가 /js/** 핸들러로 해시가 붙은 URL 을 만들 수 있다.
+    EncodedResourceResolver : 빌드 시 processResources 에서 만든 article.js.br, article.js.gz 가 있으면
+        Accept-Encoding 에 맞는 파일을 Content-Encoding, Vary: Accept-Encoding 헤더와 함께 제공한다. (요청마다 압축하지 않음)
+    이 경로들은 WebSecurityConfig 에서 시큐리티 필터 체인을 거치지 않도록 제외되어 있어 세션을 조회하지 않는다.
+     */
+}
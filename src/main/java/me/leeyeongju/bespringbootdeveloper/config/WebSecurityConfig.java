@@ -1,18 +1,30 @@
 package me.leeyeongju.bespringbootdeveloper.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import me.leeyeongju.bespringbootdeveloper.exception.PasswordHashingRejectedException;
 import me.leeyeongju.bespringbootdeveloper.service.UserDetailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.time.Duration;
 
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
@@ -31,7 +43,7 @@ public class WebSecurityConfig {
     public WebSecurityCustomizer configure() {
         return (web) -> web.ignoring()
                 .requestMatchers(toH2Console())
-                .requestMatchers(new AntPathRequestMatcher("/static/**"));
+                .requestMatchers(PathRequest.toStaticResources().atCommonLocations()); // /js/**, /css/**, /images/** 등 정적 리소스
     }
 
     // 2. 특정 HTTP 요청에 대한 웹 기반 보안 구성
@@ -39,11 +51,14 @@ public class WebSecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(auth -> auth // 1. 인증, 인가 설정
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         .requestMatchers("/login", "/signup", "/user").permitAll()
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll() // 헬스 체크, 지표 수집(Prometheus)
                         .anyRequest().authenticated())
                 .formLogin(formLogin -> formLogin // 2. 폼 기반 로그인 설정
                         .loginPage("/login")
                         .defaultSuccessUrl("/articles", true)
+                        .failureHandler(authenticationFailureHandler())
                 )
                 .logout(logout -> logout // 3. 로그아웃 설정
                         .logoutSuccessUrl("/login")
@@ -56,18 +71,55 @@ public class WebSecurityConfig {
 
     // 3. 인증 관리자 관련 설정
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http, BCryptPasswordEncoder bCryptPasswordEncoder, UserDetailService userDetailService) throws Exception {
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder, UserDetailService userDetailService) throws Exception {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService); // 1. 사용자 정보 서비스 설정
-        authProvider.setPasswordEncoder(bCryptPasswordEncoder);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userService); // 2. 패스워드 변경(해시 업그레이드) 시 저장과 캐시 갱신
+
+        ProviderManager providerManager = new ProviderManager(authProvider);
 
-        return new ProviderManager(authProvider);
+        return authentication -> {
+            try {
+                return providerManager.authenticate(authentication);
+            } catch (PasswordHashingRejectedException e) {
+                // 3. 해시 대기열이 가득 찬 경우 인증 예외로 감싸서 실패 핸들러가 503 으로 응답하도록 함
+                throw new InternalAuthenticationServiceException(e.getReason(), e);
+            }
+        };
     }
 
     // 4. 패스워드 인코더로 사용할 빈 등록
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${blog.security.password.calibrate:true}") boolean calibrate,
+            @Value("${blog.security.password.target-hash-time:250ms}") Duration targetHashTime,
+            @Value("${blog.security.password.min-strength:10}") int minStrength,
+            @Value("${blog.security.password.max-strength:14}") int maxStrength,
+            @Value("${blog.security.password.pool-size:0}") int poolSize,
+            @Value("${blog.security.password.queue-capacity:100}") int queueCapacity,
+            @Value("${blog.security.password.wait-timeout:5s}") Duration waitTimeout) {
+        int strength = calibrate
+                ? BCryptStrengthCalibrator.calibrate(targetHashTime, minStrength, maxStrength)
+                : minStrength;
+        int concurrency = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), concurrency, queueCapacity, waitTimeout);
+    }
+
+    // 5. 로그인 실패 처리 : 해시 대기열이 가득 차서 실패한 경우에만 503, 나머지는 기존처럼 /login?error 로 이동
+    private AuthenticationFailureHandler authenticationFailureHandler() {
+        AuthenticationFailureHandler defaultHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+
+        return (request, response, exception) -> {
+            if (exception.getCause() instanceof PasswordHashingRejectedException rejected) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()));
+                return;
+            }
+
+            defaultHandler.onAuthenticationFailure(request, response, exception);
+        };
     }
 
     /*
@@ -101,7 +153,10 @@ public class WebSecurityConfig {
 
     4. 패스워드 인코더로 사용할 빈 등록
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() :
+    public PasswordEncoder passwordEncoder() :
+    시작할 때 BCryptStrengthCalibrator 로 목표 해시 시간(target-hash-time)에 맞는 강도를 고르고, 해시 작업은 BoundedPasswordEncoder 로 동시에 pool-size 개까지만 실행한다.
+    강도가 올라가면 기존 사용자의 해시는 DaoAuthenticationProvider 가 로그인 성공 시 upgradeEncoding() 으로 확인해서 새 강도로 다시 해시한 뒤 updatePassword() 로 저장한다.
+    (아래는 기존 bCryptPasswordEncoder() 에 대한 설명)
     BCryptPasswordEncoder : 사용자의 패스워드를 안전하게 인코딩(해시)하기 위해 사용된다.
     해당 메서드는 `BCryptPasswordEncoder`를 스프링 컨텍승트의 빈(Bean)으로 등록하여 다른 빈들에서 주입받을 수 있도록 한다.
     패스워드 해시는 보안의 핵심 요소로, 데이터를 안전하게 보호한다. `BCrypt` 알고리즘은 강력한 보안을 제공하는 해시 함수이다.
@@ -5,80 +5,266 @@ URL에 매핑하기 위한 컨트롤러 메서드 추가로, @GetMapping, @PostM
 즉, HTTP 메서드에 대응한다.
  */
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
 import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.AddArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleBatchResult;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleCursor;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleExportResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleIdsRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleMultiGetResponse;
 import me.leeyeongju.bespringbootdeveloper.dto.ArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSearchResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSummary;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleValidator;
+import me.leeyeongju.bespringbootdeveloper.dto.TrendingArticleResponse;
 import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
 import me.leeyeongju.bespringbootdeveloper.service.BlogService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RequiredArgsConstructor
 @RestController // HTTP Response Body에 객체 데이터를 JSON 형식으로 반환하는 컨트롤러
 public class BlogApiController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int TRENDING_MAX_LIMIT = 100;
+
     private final BlogService blogService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.article.batch.max-items:1000}")
+    private int batchMaxItems;
+
+    @Value("${blog.article.multi-get.max-ids:500}")
+    private int multiGetMaxIds;
 
     // HTTP 메서드에 POST일 때 전달받은 URL과 동일하면 메서드로 매핑한다.
     @PostMapping("/api/articles")
     // @RequestBody로 요청 본문 값 매핑
-    public ResponseEntity<Article> addArticle(@RequestBody AddArticleRequest request) {
+    public ResponseEntity<AddArticleResponse> addArticle(@RequestBody AddArticleRequest request) {
         Article savedArticle = blogService.save(request);
         
-        // 요청한 자원이 성공적으로 생성되면 저장된 블로그 글 정보를 응답 객체에 담아 전송한다.
+        // 요청한 자원이 성공적으로 생성되면 저장된 블로그 글 정보를 응답 DTO에 담아 전송한다. (엔티티를 직접 직렬화하지 않음)
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(savedArticle);
+                .body(new AddArticleResponse(savedArticle));
+    }
+
+    // 여러 글을 한 번에 등록하는 addArticles() 메서드, 항목별 결과를 요청 순서대로 반환
+    @PostMapping("/api/articles/batch")
+    public ResponseEntity<List<ArticleBatchResult>> addArticles(@RequestBody List<AddArticleRequest> requests) {
+        if (requests.size() > batchMaxItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "too many articles: " + requests.size() + " (max " + batchMaxItems + ")");
+        }
+
+        return ResponseEntity.ok()
+                .body(blogService.saveAll(requests));
     }
 
-    // 전체 글을 조회한 뒤 반환하는 findAllArticles() 메서드 : BlogService 의 findAll() 메서드의 요청을 받아 실행된다.
+    // 글 목록을 한 페이지씩 조회한 뒤 반환하는 findAllArticles() 메서드 : BlogService 의 findPage() 메서드의 요청을 받아 실행된다.
     @GetMapping("/api/articles")
-    public ResponseEntity<List<ArticleResponse>> findAllArticles() {
+    public ResponseEntity<List<ArticleResponse>> findAllArticles(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size,
+                                                                 ServletWebRequest webRequest) {
         // ResponseEntity, 전송을 하는 엔티티 타입의 객체를 반환하는 것으로 이것은 HTTP 응답을 나타낸다. 여기서 HTTP 응답을 하는 타입은 List<ArticleResponse> 타입이다.
 
-        List<ArticleResponse> articles = blogService.findAll()
+        Slice<ArticleSummary> page = blogService.findPage(toCursor(cursor), size);
+
+        if (ConditionalRequests.checkNotModified(webRequest,
+                ConditionalRequests.listETag(cursor, size, page.getContent(), page.hasNext()),
+                ConditionalRequests.lastModified(page.getContent()))) {
+            return null; // 조회한 페이지가 바뀌지 않았으면 본문 없이 304 Not Modified
+        }
+
+        List<ArticleResponse> articles = page.getContent()
                 .stream() // stream : 여러 데이터가 모여 있는 컬렉션을 간편하게 처리하는 기능
                 .map(ArticleResponse::new)
                 .toList();
 
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (page.hasNext()) {
+            // 다음 페이지가 있으면 마지막 글의 위치를 커서로 만들어 헤더에 담는다.
+            ArticleSummary last = page.getContent().get(page.getNumberOfElements() - 1);
+            String next = new ArticleCursor(last.getCreatedAt(), last.getId()).encode();
+
+            response.header(NEXT_CURSOR_HEADER, next)
+                    .header(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder.fromCurrentRequest()
+                            .replaceQueryParam("cursor", next)
+                            .toUriString() + ">; rel=\"next\"");
+        }
+
+        return response.body(articles);
+    }
+
+    // 여러 글을 id 로 한 번에 조회하는 findArticlesByIds() 메서드 : GET /api/articles?ids=1,2,3
+    @GetMapping(value = "/api/articles", params = "ids")
+    public ResponseEntity<ArticleMultiGetResponse> findArticlesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok()
+                .body(findAllById(ids));
+    }
+
+    // id 가 많을 때 본문으로 보내는 findArticlesByIdsInBody() 메서드 : POST /api/articles/multi-get {"ids": [1, 2, 3]}
+    @PostMapping("/api/articles/multi-get")
+    public ResponseEntity<ArticleMultiGetResponse> findArticlesByIdsInBody(@RequestBody ArticleIdsRequest request) {
+        return ResponseEntity.ok()
+                .body(findAllById(request.getIds()));
+    }
+
+    // 전체 글을 NDJSON(한 줄에 JSON 하나)으로 내보내는 exportArticles() 메서드
+    @GetMapping(value = "/api/articles/export", produces = NDJSON_VALUE)
+    public void exportArticles(@RequestParam(defaultValue = "0") long after, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writerFor(ArticleExportResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); // 1. 한 줄마다 flush 하지 않음
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null); // 줄 구분은 직접 '\n' 으로 쓰므로 기본 구분자(공백)는 사용하지 않음
+            AtomicInteger written = new AtomicInteger();
+
+            blogService.exportAfter(after, article -> {
+                try {
+                    writer.writeValue(generator, new ArticleExportResponse(article)); // 2. 응답 스트림에 바로 쓰기
+                    generator.writeRaw('\n');
+
+                    if (written.incrementAndGet() % BlogRepository.EXPORT_FETCH_SIZE == 0) {
+                        generator.flush(); // 3. fetch 크기만큼 쓸 때마다 클라이언트로 전송
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // 제목과 본문에서 글을 검색하는 searchArticles() 메서드
+    @GetMapping("/api/articles/search")
+    public ResponseEntity<ArticleSearchResponse> searchArticles(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "10") int size) throws IOException {
+        try {
+            return ResponseEntity.ok()
+                    .body(blogService.search(q, page, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // 최근 많이 조회된 글 목록을 반환하는 findTrendingArticles() 메서드
+    @GetMapping("/api/articles/trending")
+    public ResponseEntity<List<TrendingArticleResponse>> findTrendingArticles(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > TRENDING_MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + TRENDING_MAX_LIMIT);
+        }
+
         return ResponseEntity.ok()
-                .body(articles);
+                .body(blogService.findTrending(limit));
     }
 
     // 글 하나만 조회하는 findArticle() 메서드
     @GetMapping("/api/articles/{id}") // URL 경로에서 값을 추출한다. {id}에 해당하는 값이 id로 들어온다.
-    public ResponseEntity<ArticleResponse> findArticle(@PathVariable long id ) { // URL에서 {id} 값이 id로 들어온다.
+    public ResponseEntity<ArticleResponse> findArticle(@PathVariable long id, ServletWebRequest webRequest) { // URL에서 {id} 값이 id로 들어온다.
+        ArticleValidator validator = blogService.findValidator(id);
+
+        if (ConditionalRequests.checkNotModified(webRequest,
+                ConditionalRequests.articleETag(id, validator.getUpdatedAt(), validator.getViews()), validator.getUpdatedAt())) {
+            return null; // 글과 조회수가 바뀌지 않았으면 본문 없이 304 Not Modified
+        }
+
         Article article = blogService.findById(id);
 
         return ResponseEntity.ok()
-                .body(new ArticleResponse(article));
+                .body(new ArticleResponse(article, validator.getViews())); // ETag 를 만든 조회수로 응답
     }
 
     // 글을 삭제하기 위한 findArticles() 메서드
     @DeleteMapping("/api/articles/{id}") // /api/articles/{id} DELETE 요청이 오면 {id}에 해당하는 값이 @PathVariable 어노테이션을 통해 들어옴
-    public ResponseEntity<Void> deleteArticle(@PathVariable long id) {
-        blogService.delete(id);
+    public ResponseEntity<Void> deleteArticle(@PathVariable long id, @RequestParam(required = false) Long version) {
+        blogService.delete(id, version);
 
         return ResponseEntity.ok()
                 .build();
     }
 
-    // 글 수정을 위한 updateArticle() 메서드
+    // 글 수정을 위한 updateArticle() 메서드 : 제목과 내용을 모두 바꾼다.
     @PutMapping("/api/articles/{id}")
-    public ResponseEntity<Article> updateArticle(@PathVariable long id, @RequestBody UpdateArticleRequest request) {
-        Article updateArticle = blogService.update(id, request);
+    public ResponseEntity<UpdateArticleResponse> updateArticle(@PathVariable long id, @RequestBody UpdateArticleRequest request) {
+        if (request.getTitle() == null || request.getContent() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title and content are required");
+        }
+
+        return ResponseEntity.ok()
+                .body(blogService.update(id, request));
+    }
+
+    // 글 일부 수정을 위한 patchArticle() 메서드 : 요청에 포함된 필드만 바꾼다.
+    @PatchMapping("/api/articles/{id}")
+    public ResponseEntity<UpdateArticleResponse> patchArticle(@PathVariable long id, @RequestBody UpdateArticleRequest request) {
+        if (request.getTitle() == null && request.getContent() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title or content is required");
+        }
 
         return ResponseEntity.ok()
-                .body(updateArticle);
+                .body(blogService.update(id, request));
+    }
+
+    // 여러 글 조회 : id 가 없거나 null 이 섞이면 400, multiGetMaxIds 를 넘으면 413
+    private ArticleMultiGetResponse findAllById(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids are required");
+        }
+        if (ids.size() > multiGetMaxIds) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "too many ids: " + ids.size() + " (max " + multiGetMaxIds + ")");
+        }
+
+        return blogService.findAllById(ids);
+    }
+
+    // 요청 파라미터로 받은 커서 문자열을 ArticleCursor 로 변환, 잘못된 커서는 400 Bad Request
+    private ArticleCursor toCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            return ArticleCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     /*
     @RestController : HTTP 응답으로 객체 데이터를 JSON 형식으로 반환
     @PostMapping() : HTTP 메서드가 POST일 때 요청받은 URL과 동일한 메서드 매핑(BlogApiController의 경우 /api/articles는 addArticle() 메서드에 매핑을 함.
-    @RequestBody : HTTP를 요청할 때 응답에 해당하는 값을 @RequestBody 어노테이션이 붙은 대상 객체 AddArticleRequest에 매핑한다. ResponseEntity.status().body()는 응답 코드로 201, Created 를 응답하고 테이블에 저장된 객체를 반환한다. 
+    @RequestBody : HTTP를 요청할 때 응답에 해당하는 값을 @RequestBody 어노테이션이 붙은 대상 객체 AddArticleRequest에 매핑한다. ResponseEntity.status().body()는 응답 코드로 201, Created 를 응답하고 테이블에 저장된 글을 AddArticleResponse 로 반환한다. 
+    응답은 모두 DTO 로 반환한다. 엔티티를 직렬화하면 지연 로딩 필드(Article.body)를 읽는 순간 쿼리가 실행되거나, 트랜잭션 밖이면 LazyInitializationException 이 발생할 수 있다.
+    Accept: application/cbor 로 요청하면 같은 DTO 를 JSON 대신 CBOR(바이너리)로 응답한다. (JacksonConfig)
     
         200 Ok : 요청이 성공적으로 수행 됨
         201 Created : 요청이 성공적으로 수행되었고, 새로운 리소스가 생성됨
@@ -91,7 +277,15 @@ public class BlogApiController {
     AlogApiController 클래스에 Alt + Enter 를 누르고 [Create Test] 클릭하면 테스트 코드 파일을 생성할 수 있음.
     이것을 이용하여 테스트 코드를 작성!
 
+    addArticles() 메서드 :
+        POST /api/articles/batch 로 AddArticleRequest 배열을 받아 BlogService.saveAll() 로 chunk 단위 저장한다.
+        한 번에 보낼 수 있는 개수는 blog.article.batch.max-items 로 제한하고, 넘으면 413 Payload Too Large 로 응답한다.
+
     findAllArticles() 메서드 :
+        테이블 전체가 아니라 한 페이지(기본 20건, 최대 blog.article.page.max-size 건)만 반환한다.
+        다음 페이지가 있으면 X-Next-Cursor 헤더와 Link 헤더(rel="next")에 불투명한 커서 값을 담는다. 클라이언트는 이 값을 ?cursor= 로 다시 보내면 된다.
+        응답 본문은 기존과 같은 JSON 배열이므로 기존 클라이언트는 그대로 첫 페이지를 받는다.
+        목록을 조회하기 전에 글 수와 최근 수정 시각으로 ETag/Last-Modified 를 비교해서, 바뀌지 않았으면 304 Not Modified 로 응답한다.
         ~ .stream() : List<Article> 객체를 Stream<Article> 객체로 변환한다. Stream은 JAVA8에서 도입된 기능으로 컬렉션을 효율적으로 처리할 수 있도록 도와준다.
 
         ~ .map(ArticleResponse::new) : Stream<Article>을 Stream<ArticleResponse>로 변환한다. Article 객체를 ArticleResponse 객체로 변환하기 위해 ArticleResponse 생성자를 사용한다. AticleResponse::new : ArticleResponse 클래스의 생성자를 참조하여 Article 객체를 ArticleResponse 객체로 변환한다.
@@ -101,10 +295,38 @@ public class BlogApiController {
         @PathVariable : URL에서 값을 가져오는 어노테이션이다.
         /api/articles/3 GET 요청을 받으면 id에 3 값이 들어오고, 이 값은 blogService의 findById() 메서드로 넘어가 3번 블로그 글을 찾는다.
         블로그 글을 찾으면 3번 글의 정보를 body에 담아 웹 브라우저로 전송한다.
+        먼저 updated_at 만 조회해서 If-None-Match / If-Modified-Since 와 비교하고, 바뀌지 않았으면 본문 없이 304 Not Modified 로 응답한다.
+
+    findArticlesByIds(), findArticlesByIdsInBody() 메서드 :
+        대시보드처럼 특정 글 여러 개가 필요할 때 글마다 GET /api/articles/{id} 를 보내는 대신 요청 한 번으로 받는다.
+        GET /api/articles?ids=3,1,2 (ids 파라미터가 있을 때만 이 메서드로 매핑되고, 없으면 findAllArticles() 로 매핑됨)
+        POST /api/articles/multi-get 은 id 가 많아서 URL 길이 제한에 걸릴 때 사용한다. 글을 바꾸지 않는 조회이다.
+        응답의 articles 는 요청한 id 순서대로 담기고, 없는 글은 404 대신 missing 에 id 로 담긴다.
+        한 번에 보낼 수 있는 id 수는 blog.article.multi-get.max-ids 로 제한하고, 넘으면 413 Payload Too Large 로 응답한다.
+
+    exportArticles() 메서드 :
+        야간 동기화 작업처럼 전체 글이 필요한 경우에 사용한다. 글 목록을 List 로 모으지 않고 DB 스트림에서 한 건씩 읽어 응답 스트림에 바로 쓴다.
+        ?after={id} 를 지정하면 그 id 다음 글부터 내보내므로 중간에 끊긴 작업을 이어서 받을 수 있다.
+
+    searchArticles() 메서드 :
+        GET /api/articles/search?q=검색어&page=0&size=10 으로 제목과 본문에서 검색한 결과를 점수순으로 반환한다.
+        결과에는 검색어가 강조된 본문 일부(highlight)가 포함된다. 잘못된 페이지 범위는 400 Bad Request 로 응답한다.
+
+    findTrendingArticles() 메서드 :
+        GET /api/articles/trending?limit=10 으로 최근 많이 조회된 글의 id, 제목, 추정 빈도(score)를 반환한다.
+        조회 빈도는 메모리의 근사 자료구조(TrendingArticles)에서 가져오므로 DB를 조회하지 않는다.
 
     updateArticle() 메서드 :
         /api/articles/{id} 에 PUT 요청이 오면 Request Body 정보가 request로 넘어온다. 그리고 다시 서비스 클래스의 update() 메서드에 id와 request를 넘겨준다. 응답 값은 body에 담아 전송한다.
         @RequestBody : 요청 본문(body)에 담긴 JSON 데이터를 UpdateArticleRequest 객체로 변환하여 request 변수에 저장.
+        엔티티를 조회하지 않고 UPDATE 문 하나로 수정하며, 응답은 수정 후 다시 읽은 글(제목, 내용, 버전, 수정 시각)로 만든 UpdateArticleResponse 이다.
+        요청에 version 을 담으면 그 버전일 때만 수정하고, 다른 요청이 먼저 수정했으면 409 Conflict, 글이 없으면 404 Not Found 로 응답한다.
+
+    patchArticle() 메서드 :
+        PATCH /api/articles/{id} 로 title, content 중 보낸 필드만 수정한다. 버전 확인과 응답 코드는 updateArticle() 과 같다.
+
+    deleteArticle() 메서드 :
+        DELETE 문 하나로 삭제한다. ?version= 을 지정하면 그 버전일 때만 삭제한다. (404, 409 는 수정과 같음)
 
      */
 }
@@ -3,6 +3,7 @@ package me.leeyeongju.bespringbootdeveloper.controller;
 import lombok.RequiredArgsConstructor;
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
 import me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleValidator;
 import me.leeyeongju.bespringbootdeveloper.dto.ArticleViewResponse;
 import me.leeyeongju.bespringbootdeveloper.service.BlogService;
 import org.springframework.stereotype.Controller;
@@ -10,6 +11,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -22,9 +24,7 @@ public class BlogViewController {
 
     @GetMapping("/articles")
     public String getArticles(Model model) {
-        List<ArticleListViewResponse> articles = blogService.findAll().stream()
-                .map(ArticleListViewResponse::new)
-                .toList();
+        List<ArticleListViewResponse> articles = blogService.findAllListViews(); // 엔티티 대신 필요한 컬럼만 조회
 
         model.addAttribute("articles", articles); // 1. 블로그 글 리스트 저장
 
@@ -33,13 +33,28 @@ public class BlogViewController {
     
     // 블로그 글을 반환할 getArticle() 메서드 
     @GetMapping("/articles/{id}")
-    public String getArticle(@PathVariable Long id, Model model) {
-        Article article = blogService.findById(id); 
-        model.addAttribute("article", new ArticleViewResponse(article)); // 1. 블로그 글을 저장
+    public String getArticle(@PathVariable Long id, Model model, ServletWebRequest webRequest) {
+        ArticleValidator validator = blogService.findValidator(id); // 없는 글이면 404 (조회수를 기록하기 전에 확인)
+        blogService.recordView(id); // 304 로 응답하는 재방문도 조회수에 포함
+
+        if (ConditionalRequests.checkNotModified(webRequest,
+                ConditionalRequests.pageETag(id, validator.getUpdatedAt()), validator.getUpdatedAt())) {
+            return null; // 글이 바뀌지 않았으면 뷰를 렌더링하지 않고 304 Not Modified (조회수는 브라우저에 저장된 값)
+        }
+
+        Article article = blogService.findById(id);
+        model.addAttribute("article", new ArticleViewResponse(article, validator.getViews() + 1)); // 1. 블로그 글을 저장 (이번 조회 포함)
         
         return "article"; // 2. article.html 뷰 조회
     }
 
+    /*
+    getArticle() : 페이지의 ETag 는 id 와 수정 시각으로만 만든다.
+        페이지를 열 때마다 조회수가 오르므로 조회수를 ETag 에 넣으면 브라우저가 가진 ETag 와 한 번도 같아지지 않아 304 가 나오지 않는다.
+        그래서 304 로 응답하면 화면의 조회수는 마지막으로 받은 페이지의 값으로 남고, 글이 수정되거나 캐시 사본이 없을 때 새 값을 보여준다.
+        (조회수까지 최신이어야 하는 클라이언트는 조회수를 ETag 에 넣는 GET /api/articles/{id} 를 사용한다.)
+     */
+
     // 수정 화면을 보여주기 위한 newArticle() 메서드
     @GetMapping("/new-article")
     public String newArticle(@RequestParam(required = false) Long id, Model model) {
@@ -0,0 +1,116 @@
+package me.leeyeongju.bespringbootdeveloper.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSummary;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+final class ConditionalRequests {
+    /*
+    조건부 GET 요청(If-None-Match, If-Modified-Since) 처리
+    ETag 와 Last-Modified 는 응답 본문이 아니라 id 와 updated_at 으로 만들기 때문에 본문을 직렬화하지 않고도 304 Not Modified 를 응답할 수 있다.
+    글 하나는 캐시된 엔티티(없으면 updated_at 컬럼)로, 목록은 이미 조회한 페이지로 검증자를 만들어서 검증만을 위한 쿼리를 따로 실행하지 않는다.
+     */
+
+    // 캐시에 저장하되 사용할 때마다 서버에 다시 확인(재검증)하도록 한다.
+    private static final String CACHE_CONTROL = CacheControl.noCache().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    // 검증자 헤더(ETag, Last-Modified, Cache-Control)를 쓰고, 클라이언트 사본이 최신이면 true (304 응답)
+    static boolean checkNotModified(ServletWebRequest request, String etag, LocalDateTime lastModified) {
+        HttpServletResponse response = request.getResponse();
+
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT); // Accept 에 따라 JSON 또는 CBOR 로 응답
+        }
+
+        return request.checkNotModified(representationETag(request, etag), lastModified == null ? -1 : toInstant(lastModified).toEpochMilli());
+    }
+
+    // 같은 글이라도 JSON 과 CBOR 응답은 다른 표현이므로 ETag 를 구분한다.
+    private static String representationETag(ServletWebRequest request, String etag) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+
+        if (accept != null && accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return etag.substring(0, etag.length() - 1) + "-cbor\"";
+        }
+        return etag;
+    }
+
+    // 글 하나의 ETag : id 와 마지막 수정 시각(마이크로초), 조회수
+    static String articleETag(long id, LocalDateTime updatedAt, long views) {
+        return "\"" + id + "-" + version(updatedAt) + "-" + views + "\"";
+    }
+
+    // 글 페이지(HTML)의 ETag : id 와 마지막 수정 시각만 (조회할 때마다 바뀌는 조회수는 넣지 않으므로 약한 검증자)
+    static String pageETag(long id, LocalDateTime updatedAt) {
+        return "W/\"" + id + "-" + version(updatedAt) + "\"";
+    }
+
+    // 글 목록의 ETag : 요청한 페이지(cursor, size), 다음 페이지 여부와 조회한 글마다의 id, 수정 시각, 조회수
+    static String listETag(String cursor, Integer size, List<ArticleSummary> articles, boolean hasNext) {
+        StringBuilder key = new StringBuilder()
+                .append(cursor).append(':').append(size).append(':').append(hasNext);
+
+        for (ArticleSummary article : articles) {
+            key.append(';').append(article.getId())
+                    .append(':').append(version(article.getUpdatedAt()))
+                    .append(':').append(article.getViews());
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // 글 목록의 Last-Modified : 조회한 글 중 가장 최근 수정 시각 (없으면 null)
+    static LocalDateTime lastModified(List<ArticleSummary> articles) {
+        LocalDateTime lastModified = null;
+
+        for (ArticleSummary article : articles) {
+            if (article.getUpdatedAt() != null && (lastModified == null || article.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = article.getUpdatedAt();
+            }
+        }
+        return lastModified;
+    }
+
+    private static long version(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0;
+        }
+
+        Instant instant = toInstant(dateTime);
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /*
+    checkNotModified() : ServletWebRequest.checkNotModified() 가 If-None-Match(우선)와 If-Modified-Since 를 비교한다.
+        사본이 최신이면 응답 상태를 304 로 바꾸고, 아니면 ETag 와 Last-Modified 헤더를 응답에 쓴다.
+        컨트롤러가 null 을 반환하면 본문 없이 304 응답이 끝난다.
+    Cache-Control: no-cache : 명시하지 않으면 Spring Security 가 no-store 를 붙여 브라우저와 CDN 이 응답을 저장하지 못한다.
+    글 ETag 에는 조회수도 넣는다. 응답 본문에 조회수가 있으므로 수정이 없어도 조회수가 바뀌면 다른 표현이다.
+        단, 조회할 때마다 조회수를 올리는 글 페이지(BlogViewController)는 pageETag() 로 조회수를 빼야 304 를 응답할 수 있다.
+        조회수가 달라도 같은 ETag 이므로 바이트 단위로 같다는 보장이 없어 약한 검증자(W/)로 보낸다. (If-None-Match 는 약한 비교라 304 는 그대로 동작)
+    ETag 는 강한 검증자(W/ 없음)이다. Last-Modified 는 초 단위라서 1초 안에 두 번 수정되면 구분하지 못하지만 ETag 는 마이크로초 단위까지 반영한다.
+    목록 ETag 는 조회한 페이지에 담긴 글(id, 수정 시각, 조회수)과 다음 페이지 여부로 만든다.
+        이 페이지의 글이 추가/수정/삭제되거나 조회수가 바뀌면 값이 바뀌고, 다른 페이지의 변경에는 영향을 받지 않는다.
+        count(*) 와 max(updated_at) 을 매번 조회하지 않으므로 304 응답의 비용은 키셋 페이지 조회 한 번(LIMIT)과 같다.
+        MD5 는 보안 용도가 아니라 긴 키를 짧은 ETag 로 줄이는 용도이다. (ShallowEtagHeaderFilter 와 같은 방식)
+    Vary: Accept : 캐시가 JSON 응답과 CBOR 응답을 따로 저장하도록 한다. 강한 ETag 는 표현(본문 바이트)마다 달라야 하므로 CBOR 를 요청하면 -cbor 를 붙인다.
+     */
+}
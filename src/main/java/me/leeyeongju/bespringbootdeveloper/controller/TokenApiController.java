@@ -0,0 +1,72 @@
+package me.leeyeongju.bespringbootdeveloper.controller;
+
+import lombok.RequiredArgsConstructor;
+import me.leeyeongju.bespringbootdeveloper.dto.CreateTokenRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.RefreshTokenRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.TokenResponse;
+import me.leeyeongju.bespringbootdeveloper.service.TokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnProperty(name = "blog.security.token.enabled", havingValue = "true")
+public class TokenApiController {
+    /*
+    액세스 토큰/리프레시 토큰 발급, 재발급, 폐기 요청을 처리하는 컨트롤러 (blog.security.token.enabled=true 일 때만)
+     */
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    // 1. email/password 로 액세스 토큰과 리프레시 토큰 발급
+    @PostMapping("/api/token")
+    public ResponseEntity<TokenResponse> createToken(@RequestBody CreateTokenRequest request) {
+        if (request.getEmail() == null || request.getPassword() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "email and password are required");
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(tokenService.issue(request.getEmail(), request.getPassword()));
+    }
+
+    // 2. 리프레시 토큰으로 토큰 재발급
+    @PostMapping("/api/token/refresh")
+    public ResponseEntity<TokenResponse> refreshToken(@RequestBody RefreshTokenRequest request) {
+        if (request.getRefreshToken() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "refreshToken is required");
+        }
+
+        return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+    }
+
+    // 3. 토큰 폐기 (토큰 방식의 로그아웃)
+    @PostMapping("/api/token/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length()) : null;
+
+        tokenService.revoke(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /*
+    토큰 API (blog.security.token.enabled=true 일 때 /api/** 요청에 사용) :
+    1. POST /api/token : {"email", "password"} -> 201 {accessToken, tokenType, expiresIn, refreshToken}, 인증 실패 시 401
+    2. POST /api/token/refresh : {"refreshToken"} -> 200 새 토큰 (사용한 리프레시 토큰은 더 이상 쓸 수 없음)
+    3. POST /api/token/revoke : Authorization: Bearer <액세스 토큰>, {"refreshToken"} -> 204, 폐기 목록이 가득 차면 503
+
+    발급받은 액세스 토큰은 Authorization: Bearer <액세스 토큰> 헤더로 보낸다.
+    토큰 인증을 끄면(기본값) 이 컨트롤러와 TokenService, TokenProvider 가 모두 등록되지 않으므로 /api/token* 경로도 존재하지 않는다.
+    (꺼진 상태에서 토큰을 발급하면 그 토큰으로 인증할 수 있는 필터 체인이 없어서 쓸 수 없는 토큰과 리프레시 토큰 행만 쌓인다.)
+     */
+}
@@ -34,4 +34,8 @@ public class UserApiController {
 
         return "redirect:/login";
     }
+
+    /*
+    토큰 API(/api/token*)는 blog.security.token.enabled=true 일 때만 등록되는 TokenApiController 에 있다.
+     */
 }
@@ -1,9 +1,12 @@
 package me.leeyeongju.bespringbootdeveloper.domain;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,35 +18,73 @@ import java.time.LocalDateTime;
  */
 
 @Entity // Entity 지정
+@Table(name = "article", indexes = {
+        @Index(name = "idx_article_created_at_id", columnList = "created_at, id"), // 키셋 페이지네이션용 인덱스
+        @Index(name = "idx_article_updated_at", columnList = "updated_at") // 목록 최근 수정 시각(max) 조회용 인덱스
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter @NoArgsConstructor // 필드의 값을 가져오는 게터 메서드들을 Getter 어노테이션과 NoArgsConstructor 어노테이션으로 대체
 public class Article {
 
+    // 목록에 보여줄 본문 발췌 길이 (excerpt 컬럼 길이)
+    public static final int EXCERPT_LENGTH = 100;
+
     @Id // id 필드를 PK로 지정
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // PK를 자동으로 1씩 증가
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq") // 시퀀스로 PK 생성
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50) // 시퀀스 한 번 호출로 50개의 id를 할당(pooled)
     @Column(name = "id", updatable = false)
     private Long id;
 
     @Column(name = "title", nullable = false) // title 이라는 not null 컬럼과 매핑
     private String title;
 
-    @Column(name = "content", nullable = false)
-    private String content;
+    @Column(name = "excerpt", nullable = false, length = EXCERPT_LENGTH) // 목록 조회용 본문 앞부분
+    private String excerpt;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "body_id", nullable = false, unique = true, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE) // 외래 키 ON DELETE CASCADE : 본문을 지우면 DB 가 글도 삭제
+    @Getter(AccessLevel.NONE) // 본문은 getContent() 로만 접근
+    private ArticleBody body;
 
     @Builder // 빌더 패턴으로 객체 생성
     public Article(String title, String content) {
         this.title = title;
-        this.content = content;
+        this.excerpt = excerpt(content);
+        this.body = new ArticleBody(content);
     }
 
     // 엔티티에 요청받은 내용으로 값을 수정하는 update() 메서드
     public void update(String title, String content) {
         this.title = title;
-        this.content = content;
+        this.excerpt = excerpt(content);
+        this.body.update(content);
+    }
+
+    // DB에 반영된 조회수로 바꾸는 메서드 (ArticleViewCounter 가 캐시된 글에만 사용, 컬럼에는 쓰지 않음)
+    public void refreshViews(long views) {
+        this.views = views;
+    }
+
+    // 본문 (body 가 로딩되지 않은 상태면 조회 쿼리가 실행됨)
+    public String getContent() {
+        return body.getContent();
     }
 
+    // 본문 앞부분 EXCERPT_LENGTH 글자
+    public static String excerpt(String content) {
+        return content == null || content.length() <= EXCERPT_LENGTH ? content : content.substring(0, EXCERPT_LENGTH);
+    }
+
+    @Column(name = "views", nullable = false, insertable = false, updatable = false) // ArticleViewCounter 가 SQL 로만 갱신
+    private volatile long views; // 캐시된 엔티티를 여러 요청 스레드가 공유하고 ArticleViewCounter 가 바꾸므로 volatile
+
+    @Version // 낙관적 잠금 : 수정/삭제할 때마다 1 증가
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreatedDate // 엔티티가 생성될 때 생성 시간 저장
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false) // 키셋 페이지네이션 커서라서 null 이 될 수 없음
     private LocalDateTime createdAt;
 
     @LastModifiedDate // 엔티티가 수정될 때 수정 시간 저장
@@ -55,10 +96,21 @@ public class Article {
     @Getter 어노테이션을 이용하여 클래스 필드에 대해 별도의 코드 없이 모든 필드에 대한 접근자 메서드를 생성
     => 코드의 가독성 향상
     @CreatedDate 엔티티가 생성될 때 생성 시간을 컬럼에 저장
+        (created_at, id) 가 목록 커서이므로 NOT NULL 이다. SQL 의 비교(>, =)는 null 과 항상 거짓이라 null 인 글은 첫 페이지 다음부터 건너뛰게 된다.
     @LastModifiedDate 엔티티가 수정될 때 마지막으로 수정된 시간을 컬럼에 저장
+    body : 본문은 article_body 테이블에 따로 저장하고 지연 로딩(LAZY)한다. 목록 조회는 excerpt(앞부분 100자)만 읽는다.
+        이 엔티티가 외래 키(body_id)를 가진 쪽이므로 하이버네이트가 본문을 프록시로 두고, 필요할 때만 조회한다.
+        글 상세 조회(BlogRepository.findById)는 @EntityGraph 로 본문을 조인 한 번에 함께 가져온다.
+        저장/삭제는 cascade 로 함께 처리된다.
+    views : 조회수는 ArticleViewCounter 가 모아서 batch UPDATE 로 반영하므로 JPA 저장/수정 시에는 컬럼에 쓰지 않는다. (insertable, updatable = false)
+    @Version 수정할 때마다 증가하는 버전 컬럼. 클라이언트가 읽은 버전과 현재 버전이 다르면 다른 요청이 먼저 수정한 것이므로 수정/삭제를 거절한다.
     @EntityListeners(AuditingEntityListener.class) 엔티티의 생성 및 수정 시간을 자동으로 감시하고 기록하는 어노테이션
 
 
     public void update() : 엔티티에 요청받은 내용으로 값을 수정하는 메서드로 특정 아이디의 글을 수정할 수 있도록 생성자 생성
+
+    @GeneratedValue(strategy = GenerationType.SEQUENCE) : IDENTITY 방식은 INSERT 를 실행해야 id 를 알 수 있어서 하이버네이트가 INSERT 를 묶어서(JDBC batch) 보낼 수 없다.
+        시퀀스 방식은 INSERT 전에 id 를 미리 받아두므로 여러 INSERT 를 한 번에 보낼 수 있다.
+        allocationSize = 50 : pooled 최적화로 시퀀스를 한 번 호출할 때마다 id 50개를 메모리에서 나눠 쓴다. (schema.sql 의 INCREMENT BY 50 과 같아야 함)
      */
 }
@@ -0,0 +1,40 @@
+package me.leeyeongju.bespringbootdeveloper.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "article_body")
+@Getter @NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArticleBody {
+    /*
+    글 본문만 따로 저장하는 엔티티 (article 테이블과 1:1)
+    목록 조회는 article 테이블만 읽으므로 본문 크기와 상관없이 비용이 일정하다.
+     */
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_body_seq")
+    @SequenceGenerator(name = "article_body_seq", sequenceName = "article_body_seq", allocationSize = 50)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Lob // 길이 제한이 없는 CLOB(H2) / LONGTEXT(MySQL) 컬럼
+    @Column(name = "content", nullable = false)
+    private String content;
+
+    public ArticleBody(String content) {
+        this.content = content;
+    }
+
+    // 본문 수정
+    void update(String content) {
+        this.content = content;
+    }
+
+    /*
+    id 는 Article 과 같은 방식(시퀀스, allocationSize = 50)으로 미리 받아서 일괄 등록 시에도 INSERT 가 JDBC batch 로 묶인다.
+    update() 는 Article.update() 를 통해서만 호출한다. (본문과 발췌가 항상 함께 바뀌도록 package-private)
+     */
+}
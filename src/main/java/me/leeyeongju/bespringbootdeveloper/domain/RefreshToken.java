@@ -0,0 +1,54 @@
+package me.leeyeongju.bespringbootdeveloper.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter @Entity
+public class RefreshToken {
+    /*
+    발급한 리프레시 토큰을 저장하는 엔티티
+    토큰 원문이 아니라 SHA-256 해시만 저장한다.
+     */
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64, updatable = false)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public RefreshToken(Long userId, String tokenHash, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+
+    // 만료 여부 확인
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /*
+    리프레시 토큰은 액세스 토큰을 다시 발급받을 때만 DB 에서 조회한다. (요청마다 검증하는 액세스 토큰은 DB 를 조회하지 않음)
+    DB 가 유출되어도 해시만으로는 토큰을 사용할 수 없다.
+    한 번 사용한 리프레시 토큰은 삭제하고 새 토큰을 발급한다. (rotation)
+     */
+}
@@ -37,6 +37,11 @@ public class User implements UserDetails {
         this.password = password;
     }
     
+    // 패스워드(해시)를 변경하는 메서드
+    public void updatePassword(String password) {
+        this.password = password;
+    }
+
     @Override // 권한 반환
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("user"));
@@ -0,0 +1,76 @@
+package me.leeyeongju.bespringbootdeveloper.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+@EqualsAndHashCode(of = "email")
+public final class UserPrincipal implements UserDetails {
+    /*
+    로그인한 사용자를 나타내는 가벼운 불변(immutable) 인증 객체
+    JPA 엔티티(User) 대신 인증에 필요한 값만 복사해서 담기 때문에 캐시와 세션에 엔티티가 붙어 다니지 않는다.
+     */
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.authorities = List.copyOf(user.getAuthorities());
+    }
+
+    @Override // 권한 반환
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override // 사용자의 id(email) 반환
+    public String getUsername() {
+        return email;
+    }
+
+    @Override // 사용자의 패스워드(해시) 반환
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /*
+    모든 필드가 final 이라 여러 요청(스레드)이 캐시에 있는 같은 객체를 공유해도 안전하다.
+    CredentialsContainer 를 구현하지 않는 이유 : ProviderManager 는 인증이 끝나면 CredentialsContainer 의 eraseCredentials()를 호출해 패스워드를 지운다.
+        캐시에 있는 객체가 지워지면 다음 로그인부터 패스워드 비교가 실패하므로 패스워드 해시를 지우지 않는 불변 객체로 둔다.
+    @EqualsAndHashCode(of = "email") : 스프링 시큐리티의 User 와 같이 사용자 이름(email)으로 같은 사용자인지 판단한다.
+     */
+}
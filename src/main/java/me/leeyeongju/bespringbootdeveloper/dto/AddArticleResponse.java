@@ -0,0 +1,31 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class AddArticleResponse {
+    /*
+    글 등록(POST /api/articles) 결과를 담을 DTO
+    저장한 엔티티를 그대로 응답하지 않고 필요한 값만 복사해서 반환한다.
+    version 은 이후 수정/삭제 요청에 ?version= 이나 본문의 version 으로 보낼 때 사용한다.
+     */
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final Long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public AddArticleResponse(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.version = article.getVersion();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
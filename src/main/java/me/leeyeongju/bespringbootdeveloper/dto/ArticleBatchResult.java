@@ -0,0 +1,35 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ArticleBatchResult {
+    /*
+    글 일괄 등록 요청에서 항목 하나의 처리 결과를 담는 DTO
+    index 는 요청 배열에서의 위치이고, 성공하면 id, 실패하면 error 에 값이 담긴다.
+     */
+
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final String error;
+
+    private ArticleBatchResult(int index, Status status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static ArticleBatchResult created(int index, Long id) {
+        return new ArticleBatchResult(index, Status.CREATED, id, null);
+    }
+
+    public static ArticleBatchResult failed(int index, String error) {
+        return new ArticleBatchResult(index, Status.FAILED, null, error);
+    }
+}
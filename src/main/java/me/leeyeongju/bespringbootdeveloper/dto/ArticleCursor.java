@@ -0,0 +1,52 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class ArticleCursor {
+    /*
+    키셋(커서) 페이지네이션에서 "마지막으로 읽은 글의 위치"를 나타내는 객체
+    (created_at, id) 두 값으로 위치를 표현하고, 클라이언트에게는 Base64로 인코딩한 불투명(opaque) 문자열로 전달한다.
+     */
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public ArticleCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    // 커서를 클라이언트에게 전달할 문자열로 변환
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 클라이언트가 보낸 문자열을 커서로 복원, 형식이 잘못되었으면 IllegalArgumentException 발생
+    public static ArticleCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+
+            return new ArticleCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+    }
+
+    /*
+    encode() : "created_at_id" 형태의 문자열을 URL에 그대로 쓸 수 있는 Base64(URL-safe, 패딩 없음)로 인코딩한다.
+        클라이언트는 이 값의 내부 구조를 알 필요 없이 다음 페이지를 요청할 때 그대로 돌려주기만 하면 된다.
+    decode() : NumberFormatException 은 IllegalArgumentException 의 하위 클래스이므로 함께 처리된다.
+     */
+}
@@ -0,0 +1,28 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class ArticleExportResponse {
+    /*
+    글 내보내기(NDJSON) 한 줄에 담기는 DTO
+    id 를 함께 내보내므로 중간에 끊기면 마지막으로 받은 id 부터 다시 요청(?after=)할 수 있다.
+     */
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ArticleExportResponse(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
@@ -0,0 +1,19 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class ArticleIdsRequest {
+    /*
+    여러 글 조회(POST /api/articles/multi-get) 요청 DTO
+    id 가 많아서 URL(?ids=) 에 담기 어려울 때 본문으로 보낸다.
+     */
+
+    private List<Long> ids;
+}
@@ -7,6 +7,9 @@ import me.leeyeongju.bespringbootdeveloper.domain.Article;
 public class ArticleListViewResponse {
     // View에 데이터를 전달하기 위한 객체
 
+    // 목록에 보여줄 본문 발췌 길이
+    public static final int EXCERPT_LENGTH = Article.EXCERPT_LENGTH;
+
     private final Long id;
     private final String title;
     private final String content;
@@ -14,6 +17,13 @@ public class ArticleListViewResponse {
     public ArticleListViewResponse(Article article) {
         this.id = article.getId();
         this.title = article.getTitle();
-        this.content = article.getContent();
+        this.content = article.getExcerpt();
+    }
+
+    // JPQL 생성자 표현식(select new ...)으로 필요한 컬럼만 바로 담을 때 사용하는 생성자
+    public ArticleListViewResponse(Long id, String title, String content) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
     }
 }
@@ -0,0 +1,31 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class ArticleMultiGetItem {
+    /*
+    여러 글 조회 응답의 글 하나
+    여러 글을 한 번에 받으므로 응답의 글이 어떤 id 인지 알 수 있도록 id 를 함께 담는다.
+    version 은 이 글을 수정/삭제할 때 보내는 낙관적 잠금 버전이다.
+     */
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final long views;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public ArticleMultiGetItem(Article article, long views) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.views = views;
+        this.version = article.getVersion();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
@@ -0,0 +1,21 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ArticleMultiGetResponse {
+    /*
+    여러 글 조회(multi-get) API 응답 DTO
+    articles 는 요청한 id 순서대로(중복 id 는 한 번만) 담기고, 없는 글의 id 는 missing 에 요청 순서대로 담긴다.
+     */
+
+    private final List<ArticleMultiGetItem> articles;
+    private final List<Long> missing;
+
+    public ArticleMultiGetResponse(List<ArticleMultiGetItem> articles, List<Long> missing) {
+        this.articles = articles;
+        this.missing = missing;
+    }
+}
@@ -9,14 +9,32 @@ public class ArticleResponse {
     서비스에서 컨트롤러로 요청을 보낼 때, 응답을 보내는 DTO(data transfer object)
 
     ArticleResponse 는 서버에서 클라이언트에게 요청 받은 값(글의 제목과 내용)을 전달하는 값을 담은 객체이다.
+    version 은 읽은 글을 수정/삭제할 때 ?version= 이나 본문의 version 으로 보내서 그 사이에 다른 요청이 수정했는지 확인하는 데 사용한다.
      */
 
     private final String title;
     private final String content;
+    private final long views;
+    private final Long version;
 
     public ArticleResponse(Article article) {
         // 글은 제목과 내용의 구성으로 엔티티를 인수로 받는 생성자를 추가.
+        this(article, article.getViews());
+    }
+
+    // 조회수(DB에 반영된 값 + 아직 반영되지 않은 값)를 함께 받는 생성자
+    public ArticleResponse(Article article, long views) {
         this.title = article.getTitle();
         this.content = article.getContent();
+        this.views = views;
+        this.version = article.getVersion();
+    }
+
+    // 목록 조회 프로젝션(ArticleSummary)을 인수로 받는 생성자 : 목록에서는 본문 대신 앞부분(excerpt)만 내려준다.
+    public ArticleResponse(ArticleSummary summary) {
+        this.title = summary.getTitle();
+        this.content = summary.getExcerpt();
+        this.views = summary.getViews();
+        this.version = summary.getVersion();
     }
 }
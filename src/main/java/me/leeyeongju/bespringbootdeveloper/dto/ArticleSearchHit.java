@@ -0,0 +1,23 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ArticleSearchHit {
+    /*
+    검색 결과 한 건을 담는 DTO
+    highlight 에는 검색어가 포함된 본문 일부가 <em> 태그로 강조되어 담긴다. (HTML 특수문자는 이스케이프 됨)
+     */
+
+    private final Long id;
+    private final String title;
+    private final String highlight;
+    private final float score;
+
+    public ArticleSearchHit(Long id, String title, String highlight, float score) {
+        this.id = id;
+        this.title = title;
+        this.highlight = highlight;
+        this.score = score;
+    }
+}
@@ -0,0 +1,27 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ArticleSearchResponse {
+    /*
+    검색 API 응답 DTO
+    total 은 전체 일치 건수이며, 일치 건수가 많으면 하한값(totalExact = false)일 수 있다.
+     */
+
+    private final long total;
+    private final boolean totalExact;
+    private final int page;
+    private final int size;
+    private final List<ArticleSearchHit> hits;
+
+    public ArticleSearchResponse(long total, boolean totalExact, int page, int size, List<ArticleSearchHit> hits) {
+        this.total = total;
+        this.totalExact = totalExact;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,24 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import java.time.LocalDateTime;
+
+public interface ArticleSummary {
+    /*
+    글 목록 API 에서 사용하는 인터페이스 기반 프로젝션(Projection)
+    엔티티 전체가 아니라 select 절에 지정한 컬럼만 조회해서 담는다.
+     */
+
+    Long getId();
+
+    String getTitle();
+
+    String getExcerpt(); // 본문 앞부분 (본문 전체는 article_body 테이블에 있어서 목록에서는 읽지 않음)
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion(); // 수정/삭제 요청에 보낼 낙관적 잠금 버전
+
+    long getViews();
+}
@@ -0,0 +1,18 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Getter
+public class ArticleValidator {
+    /*
+    글 하나의 조건부 요청(ETag, Last-Modified) 검증에 필요한 값
+    본문을 조회하지 않고 응답이 바뀌었는지 판단할 수 있도록 수정 시각과 조회수만 담는다.
+     */
+
+    private final LocalDateTime updatedAt;
+    private final long views; // DB에 반영된 조회수 + 아직 반영되지 않은 조회수
+}
@@ -16,11 +16,18 @@ public class ArticleViewResponse {
     private String title;
     private String content;
     private LocalDateTime createdAt;
+    private long views;
 
     public ArticleViewResponse(Article article) {
+        this(article, article.getViews());
+    }
+
+    // 조회수는 DB에 반영된 값과 아직 반영되지 않은 값을 합한 값을 받는다.
+    public ArticleViewResponse(Article article, long views) {
         this.id = article.getId();
         this.title = article.getTitle();
         this.content = article.getContent();
         this.createdAt = article.getCreatedAt();
+        this.views = views;
     }
 }
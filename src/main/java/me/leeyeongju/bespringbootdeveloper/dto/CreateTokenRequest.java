@@ -0,0 +1,17 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class CreateTokenRequest {
+    /*
+    토큰 발급 요청 DTO (email, password)
+     */
+
+    private String email;
+    private String password;
+}
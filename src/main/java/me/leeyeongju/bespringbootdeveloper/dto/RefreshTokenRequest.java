@@ -0,0 +1,16 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class RefreshTokenRequest {
+    /*
+    액세스 토큰 재발급, 토큰 폐기 요청 DTO
+     */
+
+    private String refreshToken;
+}
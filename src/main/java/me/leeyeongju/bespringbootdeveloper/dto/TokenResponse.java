@@ -0,0 +1,18 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class TokenResponse {
+    /*
+    토큰 발급/재발급 응답 DTO
+    expiresIn 은 액세스 토큰의 남은 수명(초)이다.
+     */
+
+    private final String accessToken;
+    private final String tokenType;
+    private final long expiresIn;
+    private final String refreshToken;
+}
@@ -0,0 +1,17 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class TrendingArticleResponse {
+    /*
+    인기 글(trending) 목록 API 에서 사용하는 DTO
+    score 는 감쇠가 적용된 최근 조회 빈도의 추정값이다. (정확한 조회수가 아님)
+     */
+
+    private final Long id;
+    private final String title;
+    private final long score;
+}
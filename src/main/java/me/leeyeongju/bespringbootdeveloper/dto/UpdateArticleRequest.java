@@ -9,8 +9,14 @@ import lombok.NoArgsConstructor;
 public class UpdateArticleRequest {
     /*
     블로그 글 수정 요청을 받을 DTO(data transfer object)
+    version : 클라이언트가 마지막으로 읽은 글의 버전. 보내면 그 사이에 다른 수정이 있었을 때 409 Conflict 로 거절한다. (없으면 버전 확인 없이 수정)
      */
 
     private String title;
     private String content;
+    private Long version;
+
+    public UpdateArticleRequest(String title, String content) {
+        this(title, content, null);
+    }
 }
@@ -0,0 +1,29 @@
+package me.leeyeongju.bespringbootdeveloper.dto;
+
+import lombok.Getter;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class UpdateArticleResponse {
+    /*
+    글 수정(PUT, PATCH) 결과를 담을 DTO
+    수정 후 다시 읽은 글로 만든다. PATCH 에서 보내지 않은 필드도 현재 값으로 채워지고,
+    version 은 요청에 version 을 보내지 않았어도 수정 후 버전이 채워지므로 다음 수정/삭제 요청에 그대로 보낼 수 있다.
+     */
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public UpdateArticleResponse(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.version = article.getVersion();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
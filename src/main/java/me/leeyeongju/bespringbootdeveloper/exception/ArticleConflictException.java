@@ -0,0 +1,15 @@
+package me.leeyeongju.bespringbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ArticleConflictException extends ResponseStatusException {
+    /*
+    글을 수정/삭제할 때 요청한 버전(version)이 현재 버전과 다를 때 발생하는 예외
+    다른 요청이 먼저 글을 수정했다는 뜻이므로 409 Conflict 로 응답하고, 클라이언트는 글을 다시 조회한 뒤 재시도한다.
+     */
+
+    public ArticleConflictException(long id, long version) {
+        super(HttpStatus.CONFLICT, "article " + id + " is no longer at version " + version);
+    }
+}
@@ -0,0 +1,17 @@
+package me.leeyeongju.bespringbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ArticleNotFoundException extends IllegalArgumentException {
+    /*
+    요청한 id 의 글이 없을 때 발생하는 예외
+    컨트롤러에서 발생하면 404 Not Found 로 응답한다.
+    기존처럼 IllegalArgumentException 으로 처리하던 코드도 그대로 동작하도록 IllegalArgumentException 을 상속한다.
+     */
+
+    public ArticleNotFoundException(long id) {
+        super("not found: " + id);
+    }
+}
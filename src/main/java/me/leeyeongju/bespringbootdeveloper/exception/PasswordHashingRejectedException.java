@@ -0,0 +1,28 @@
+package me.leeyeongju.bespringbootdeveloper.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+public class PasswordHashingRejectedException extends ResponseStatusException {
+    /*
+    패스워드 해시 대기열이 가득 찼거나 실행 자리를 기다리다 시간이 지나서 해시를 시작할 수 없을 때 발생하는 예외
+    컨트롤러에서 발생하면 503 Service Unavailable 과 Retry-After 헤더로 응답한다.
+     */
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -1,13 +1,141 @@
 package me.leeyeongju.bespringbootdeveloper.repository;
 
+import jakarta.persistence.QueryHint;
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSummary;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleValidator;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BlogRepository extends JpaRepository<Article, Long> {
     // JpaRepository 클래스를 상속받을 때 엔티티 Article과 엔티티의 PK 타입 Long을 인수로 넣어 사용할 수 있도록 함
+
+    // 스트림 조회 시 JDBC 드라이버가 한 번에 가져올 행 수
+    int EXPORT_FETCH_SIZE = 500;
+
+    // 키셋 페이지네이션 : 첫 페이지
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select a.id as id, a.title as title, a.excerpt as excerpt, a.createdAt as createdAt, a.updatedAt as updatedAt, a.version as version, a.views as views " +
+            "from Article a order by a.createdAt asc, a.id asc")
+    List<ArticleSummary> findFirstPage(Pageable pageable);
+
+    // 키셋 페이지네이션 : 커서(created_at, id) 다음 페이지
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select a.id as id, a.title as title, a.excerpt as excerpt, a.createdAt as createdAt, a.updatedAt as updatedAt, a.version as version, a.views as views " +
+            "from Article a " +
+            "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id) " +
+            "order by a.createdAt asc, a.id asc")
+    List<ArticleSummary> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // 글 목록 뷰 : id, 제목, 본문 앞부분(발췌)만 조회
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse(" +
+            "a.id, a.title, a.excerpt) " +
+            "from Article a order by a.createdAt asc, a.id asc")
+    List<ArticleListViewResponse> findAllListViews();
+
+    // 내보내기 : id 순서로 글을 한 건씩 스트림으로 조회 (after 보다 큰 id 부터)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Article a join fetch a.body where a.id > :afterId order by a.id asc")
+    Stream<Article> streamAllAfter(@Param("afterId") long afterId);
+
+    // 글 상세 조회 : 본문(article_body)을 조인 한 번으로 함께 조회
+    @Override
+    @EntityGraph(attributePaths = "body")
+    Optional<Article> findById(Long id);
+
+    // 전체 조회 : 본문까지 함께 조회 (목록 화면/API 는 위의 프로젝션 메서드를 사용)
+    @Override
+    @EntityGraph(attributePaths = "body")
+    List<Article> findAll();
+
+    // 여러 글 조회 : id 목록에 해당하는 글을 본문과 함께 IN 쿼리 한 번으로 조회 (순서는 보장하지 않음)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select a from Article a join fetch a.body where a.id in :ids")
+    List<Article> findAllWithBodyByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 조건부 요청 검증용 : 글 하나의 마지막 수정 시각과 조회수만 조회
+    @Query("select new me.leeyeongju.bespringbootdeveloper.dto.ArticleValidator(a.updatedAt, a.views) " +
+            "from Article a where a.id = :id")
+    Optional<ArticleValidator> findValidatorById(@Param("id") long id);
+
+    // 검색 인덱스가 DB 의 마지막 수정까지 반영했는지 확인용 : 가장 최근 수정 시각 (idx_article_updated_at)
+    @Query("select max(a.updatedAt) from Article a")
+    Optional<LocalDateTime> findMaxUpdatedAt();
+
+    // 한 번의 UPDATE 문으로 수정 : null 인 필드는 그대로 두고, version 이 null 이 아니면 현재 버전과 같을 때만 수정
+    @Modifying(clearAutomatically = true)
+    @Query("update Article a set a.title = coalesce(:title, a.title), a.excerpt = coalesce(:excerpt, a.excerpt), " +
+            "a.updatedAt = :updatedAt, a.version = a.version + 1 " +
+            "where a.id = :id and (:version is null or a.version = :version)")
+    int updateIfVersionMatches(@Param("id") long id, @Param("title") String title, @Param("excerpt") String excerpt,
+                               @Param("version") Long version, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // 본문 수정 : updateIfVersionMatches() 가 성공한 뒤 같은 트랜잭션에서 실행
+    @Modifying(clearAutomatically = true)
+    @Query("update ArticleBody b set b.content = :content where b.id = (select a.body.id from Article a where a.id = :id)")
+    int updateContent(@Param("id") long id, @Param("content") String content);
+
+    // 한 번의 DELETE 문으로 삭제 : version 이 null 이 아니면 현재 버전과 같을 때만 삭제
+    // 글의 본문을 지우면 article.body_id 외래 키의 ON DELETE CASCADE 로 글도 함께 삭제된다.
+    @Modifying(clearAutomatically = true)
+    @Query("delete from ArticleBody b where b.id in " +
+            "(select a.body.id from Article a where a.id = :id and (:version is null or a.version = :version))")
+    int deleteIfVersionMatches(@Param("id") long id, @Param("version") Long version);
+
     /*
     BlogRepository 구성 :
     JpaRepository를 상속받음. JpaRepository의 부모 클래스의 CrudRepository에 Save() 메서드가 선언이 되어 있다.
     save() 메서드를 사용하면 DB에 Article 엔티티를 저장할 수 있다.
+
+    findFirstPage(), findPageAfter() :
+    OFFSET 방식은 앞의 행을 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+    마지막으로 읽은 글의 (created_at, id) 이후의 행만 조회하면 (created_at, id) 인덱스를 타고 바로 시작 위치로 이동하므로 몇 번째 페이지든 조회 비용이 같다.
+    Pageable 은 LIMIT 용도로만 사용한다. (반환 타입이 List 이므로 count 쿼리는 실행되지 않음)
+
+    목록 조회 메서드들은 엔티티가 아니라 프로젝션(ArticleSummary 인터페이스, ArticleListViewResponse DTO)을 반환한다.
+    엔티티를 조회하면 영속성 컨텍스트에 등록되고 변경 감지를 위한 스냅샷까지 만들어지지만, 프로젝션은 필요한 컬럼만 select 해서 바로 객체로 담는다.
+    HINT_READ_ONLY, HINT_FLUSH_MODE(MANUAL) : 조회 전용 쿼리이므로 쿼리 실행 전 자동 flush 와 스냅샷 생성을 하지 않도록 힌트를 준다.
+
+    본문(content)은 article_body 테이블에 있고, 목록 조회는 article 테이블의 excerpt(앞부분 100자)만 읽는다.
+    findById(), findAll(), streamAllAfter() 는 본문이 필요한 경로(상세, 내보내기, 검색 인덱스)이므로 조인 한 번으로 본문까지 가져온다.
+    (@EntityGraph 가 없으면 글마다 본문 조회 쿼리가 한 번씩 더 실행됨)
+    findAllWithBodyByIdIn() : 여러 글 조회(multi-get)용. 글마다 findById() 를 호출하는 대신 IN 쿼리 한 번으로 가져온다.
+    IN 목록의 크기는 BlogService 가 chunk 단위로 제한하고, in_clause_parameter_padding 으로 파라미터 수를 2의 거듭제곱으로 맞춰 실행 계획 캐시를 재사용한다.
+
+    findValidatorById() : ETag/Last-Modified 검증에 필요한 수정 시각과 조회수만 조회한다. (ArticleCache 에 없는 글일 때만 사용)
+    목록의 검증자는 따로 조회하지 않고 조회한 페이지의 updated_at 으로 만든다. (count(*) 는 글 수만큼 읽어야 하므로 목록 요청마다 실행하지 않음)
+
+    updateIfVersionMatches(), deleteIfVersionMatches() : 엔티티를 조회하지 않고 UPDATE/DELETE 문 하나로 처리하고 영향받은 행 수를 반환한다.
+    (JpaRepository 의 deleteById() 는 엔티티를 먼저 조회한 뒤 삭제하므로 쿼리가 두 번 실행된다.)
+    본문을 바꿀 때는 updateContent() 를 이어서 실행한다.
+    삭제는 본문(article_body) 행을 지우고, 글(article) 행은 외래 키의 ON DELETE CASCADE 로 DB 가 같은 문장 안에서 지운다.
+    (글을 먼저 지우면 본문 id 를 알 수 없으므로 본문 id 조회, 글 삭제, 본문 삭제의 세 문장이 필요했다.)
+    @Modifying(clearAutomatically = true) : 벌크 연산은 영속성 컨텍스트를 거치지 않으므로, 실행 후 영속성 컨텍스트를 비워 이전 상태의 엔티티가 조회되지 않도록 한다.
      */
 }
@@ -0,0 +1,35 @@
+package me.leeyeongju.bespringbootdeveloper.repository;
+
+import me.leeyeongju.bespringbootdeveloper.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash); // 토큰 해시로 리프레시 토큰을 가져온다.
+
+    // 리프레시 토큰 사용(삭제) : 이미 다른 요청이 사용했다면 0 을 반환
+    @Modifying
+    @Query("delete from RefreshToken r where r.id = :id")
+    int consume(@Param("id") long id);
+
+    // 로그아웃 시 리프레시 토큰 삭제
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // 만료된 리프레시 토큰 정리
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /*
+    consume() : 조회한 뒤 DELETE 문의 영향받은 행 수로 사용 여부를 판단한다.
+    같은 리프레시 토큰으로 동시에 두 번 재발급을 요청해도 한 요청만 1 을 받으므로 토큰이 한 번만 사용된다.
+     */
+}
@@ -0,0 +1,83 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "blog.migration.article-body.enabled", havingValue = "true")
+public class ArticleBodyMigration implements ApplicationRunner {
+    /*
+    기존 article.content 컬럼의 본문을 article_body 테이블로 옮기는 일회성 마이그레이션 (docs/article-body-migration.md)
+    chunk-size 개씩 id 순서로 나눠서, chunk 마다 하나의 트랜잭션으로 처리한다.
+     */
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.migration.article-body.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        long moved = 0;
+
+        while (true) {
+            final long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> migrateChunk(afterId));
+
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            lastId = ids.get(ids.size() - 1);
+            moved += ids.size();
+            log.info("Moved {} article bodies to article_body (last id={})", moved, lastId);
+        }
+
+        log.info("Article body migration finished: moved={}", moved);
+    }
+
+    // afterId 다음의 본문이 옮겨지지 않은 글을 chunkSize 개 옮기고, 옮긴 글의 id 를 반환
+    private List<Long> migrateChunk(long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from article where id > ? and body_id is null order by id limit ?",
+                Long.class, afterId, chunkSize);
+
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        long from = ids.get(0);
+        long to = ids.get(ids.size() - 1);
+
+        // 1. 본문 복사 : 옮긴 본문의 id 는 글 id 와 같은 값을 사용
+        jdbcTemplate.update("insert into article_body (id, content) " +
+                "select id, content from article where id between ? and ? and body_id is null", from, to);
+
+        // 2. 글이 본문을 참조하도록 연결하고 발췌를 채운 뒤, 기존 본문은 비운다.
+        jdbcTemplate.update("update article set body_id = id, excerpt = substring(content, 1, ?), content = null " +
+                "where id between ? and ? and body_id is null", Article.EXCERPT_LENGTH, from, to);
+
+        return ids;
+    }
+
+    /*
+    ApplicationRunner : 컨텍스트가 준비된 뒤, 애플리케이션이 요청을 받을 준비(ready)가 되기 전에 실행된다.
+    이미 옮긴 글(body_id 가 있는 글)은 건너뛰므로 여러 번 실행해도 된다. (중간에 실패하면 다시 시작하면 이어서 처리)
+    chunk 마다 커밋하므로 트랜잭션이 짧고, 테이블 전체에 오래 잠금을 걸지 않는다.
+    id 범위(between)와 body_id is null 조건을 함께 사용해서 INSERT/UPDATE 가 같은 행만 대상으로 한다.
+     */
+}
@@ -0,0 +1,138 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class ArticleCache implements MeterBinder {
+    /*
+    글 상세 조회(findById) 앞에 두는 프로세스 내부 캐시
+    최대 개수와 TTL(expire-after-write)로 크기를 제한하고, 적중/실패 통계를 기록한다.
+     */
+
+    private final Cache<Long, Article> cache;
+
+    // evict() 가 실행될 때마다 1 증가 : getAll() 이 조회하는 사이에 제거가 있었는지 확인하는 용도
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ArticleCache(@Value("${blog.article.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${blog.article.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize) // 1. 최대 개수를 넘으면 오래/적게 사용된 글부터 제거
+                .expireAfterWrite(expireAfterWrite) // 2. 저장 후 일정 시간이 지나면 제거
+                .recordStats() // 3. 적중/실패 통계 기록
+                .build();
+    }
+
+    // 캐시에 있으면 바로 반환하고, 없으면 loader 로 한 번만 조회해서 저장한 뒤 반환
+    public Article get(long id, Function<Long, Article> loader) {
+        return cache.get(id, loader);
+    }
+
+    // 캐시에 있으면 반환하고, 없으면 null (DB 를 조회하지 않음)
+    public Article getIfPresent(long id) {
+        return cache.getIfPresent(id);
+    }
+
+    // 캐시에 있는 글은 바로 쓰고, 없는 글만 모아서 loader 로 한 번에 조회해서 저장한 뒤 반환 (없는 글은 결과에 포함되지 않음)
+    public Map<Long, Article> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, Article>> loader) {
+        Map<Long, Article> articles = new HashMap<>(cache.getAllPresent(ids)); // 1. 캐시 적중
+
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(articles.keySet());
+
+        if (missing.isEmpty()) {
+            return articles;
+        }
+
+        long generation = invalidations.get(); // 2. 조회를 시작하기 전의 제거 세대
+        Map<Long, Article> loaded = loader.apply(missing);
+
+        loaded.forEach((id, article) -> {
+            articles.put(id, article);
+
+            // 3. 조회하는 동안 제거(evict)가 없었을 때만 저장한다. 이미 다른 요청이 넣은 글이 있으면 그대로 둔다.
+            cache.asMap().compute(id, (key, cached) ->
+                    cached != null ? cached : (invalidations.get() == generation ? article : null));
+        });
+
+        return articles;
+    }
+
+    // 저장된 글을 캐시에 바로 넣는다.
+    public void put(Article article) {
+        cache.put(article.getId(), article);
+    }
+
+    // 캐시에 있는 글의 조회수만 바꾼다. (캐시에 없으면 아무것도 하지 않음)
+    public void refreshViews(long id, long views) {
+        cache.asMap().computeIfPresent(id, (key, article) -> {
+            article.refreshViews(views);
+            return article;
+        });
+    }
+
+    // 캐시에서 글을 제거한다. 트랜잭션 안이라면 커밋(또는 롤백) 이후에 한 번 더 제거한다.
+    public void evict(long id) {
+        invalidate(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    // 제거 세대를 먼저 올린 뒤 제거한다. (조회 중이던 getAll() 이 이전 값을 다시 넣지 못하도록)
+    private void invalidate(long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // 캐시 적중/실패, 제거 수를 cache.* 지표로 등록
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "article");
+    }
+
+    /*
+    get() : Caffeine 의 Cache.get(key, mappingFunction) 은 같은 키에 대한 계산을 한 번만 실행한다.
+        같은 글에 대해 동시에 여러 요청이 캐시 실패를 하더라도 DB 조회는 한 번만 일어나고 나머지 요청은 그 결과를 기다렸다가 받는다. (캐시 스탬피드 방지)
+        loader 가 예외를 던지면(없는 글) 캐시에 저장되지 않고 예외가 그대로 전달된다.
+    getAll() : 캐시에 없는 키만 모아서 loader 를 한 번 호출한다. loader 가 반환하지 않은 키(없는 글)는 저장하지 않고 결과에서 빠진다.
+        Caffeine 의 Cache.getAll() 은 get() 과 달리 키별 계산을 잠그지 않고 조회가 끝난 뒤 결과를 한꺼번에 넣는다.
+        그래서 조회하는 사이에 수정/삭제가 커밋되고 evict() 가 실행되면, 이전 내용이 evict() 이후에 다시 캐시에 들어가 만료될 때까지 남는다.
+        이를 막기 위해 조회 전에 제거 세대(invalidations)를 기억해 두고, 키마다 compute() 안에서 세대가 그대로일 때만 저장한다.
+        evict() 는 세대를 올린 뒤 invalidate() 하므로, compute() 가 먼저 실행되면 invalidate() 가 지우고 나중에 실행되면 세대가 달라서 저장하지 않는다.
+        세대는 글 하나가 아니라 전체에 대한 값이라서 다른 글이 제거되어도 이번 결과는 저장하지 않지만, 응답에는 그대로 사용하고 다음 조회에서 다시 캐시된다.
+    refreshViews() : 조회수가 DB에 반영될 때마다 글을 제거하면 자주 조회되는 글일수록 매초 캐시 실패(본문 조인 조회)가 일어난다.
+        그래서 캐시된 엔티티는 그대로 두고 조회수 필드만 바꾼다. 제목/본문은 바뀌지 않았으므로 제거 세대(invalidations)도 올리지 않는다.
+    evict() : 트랜잭션 안에서 바로 제거만 하면, 커밋 전에 다른 요청이 이전 값을 다시 읽어 캐시에 넣을 수 있다.
+        그래서 커밋이 끝난 뒤(afterCompletion)에 한 번 더 제거해서 쓰기가 반환된 이후에는 이전 내용이 보이지 않도록 한다.
+     */
+}
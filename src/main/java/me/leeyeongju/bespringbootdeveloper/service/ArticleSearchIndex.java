@@ -0,0 +1,309 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSearchHit;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSearchResponse;
+import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ArticleSearchIndex implements DisposableBean {
+    /*
+    글 제목(title)과 본문(content)에 대한 루씬(Lucene) 전문 검색 인덱스
+    index-dir 디렉터리(또는 메모리)에 인덱스를 두고, 글이 저장/수정/삭제될 때마다 해당 문서만 갱신한다.
+     */
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String UPDATED_AT = "updated_at"; // 문서를 만든 글의 수정 시각 (에포크 밀리초, 검색하지 않고 시작 시 비교에만 사용)
+    private static final int FRAGMENT_SIZE = 100;
+
+    private final BlogRepository blogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxResultWindow;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final boolean persistent; // index-dir 에 저장하는지 (false 면 메모리)
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public ArticleSearchIndex(BlogRepository blogRepository, TransactionTemplate transactionTemplate, EntityManager entityManager,
+                              @Value("${blog.search.index-dir:}") String indexDir,
+                              @Value("${blog.search.max-result-window:1000}") int maxResultWindow) throws IOException {
+        this.blogRepository = blogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.maxResultWindow = maxResultWindow;
+
+        this.persistent = !indexDir.isBlank();
+        this.directory = !persistent
+                ? new ByteBuffersDirectory() // 경로가 없으면 메모리에 인덱스를 두고 시작할 때마다 DB에서 만든다.
+                : FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null); // 커밋 전 변경도 검색되는 NRT 검색기
+    }
+
+    // 1. 시작 시 인덱스가 없거나, DB와 문서 수가 다르거나, 인덱스에 없는 수정(updated_at 이 더 최근)이 있으면 DB에서 다시 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() throws IOException {
+        if (!persistent) {
+            log.info("Building in-memory article search index (set blog.search.index-dir to keep it across restarts)");
+            rebuild(); // 메모리 인덱스는 항상 비어서 시작한다.
+            return;
+        }
+
+        long articleCount = blogRepository.count();
+        long lastUpdatedAt = blogRepository.findMaxUpdatedAt().map(ArticleSearchIndex::epochMillis).orElse(Long.MIN_VALUE);
+        long indexedCount = writer.getDocStats().numDocs;
+        long indexedUpdatedAt = indexedUpdatedAt();
+
+        if (!DirectoryReader.indexExists(directory) || indexedCount != articleCount || indexedUpdatedAt < lastUpdatedAt) {
+            log.info("Rebuilding article search index: indexed={}, articles={}, indexedUpdatedAt={}, updatedAt={}",
+                    indexedCount, articleCount, indexedUpdatedAt, lastUpdatedAt);
+            rebuild();
+        }
+    }
+
+    // 전체 인덱스를 DB에서 스트림으로 읽어 다시 만든다.
+    public void rebuild() throws IOException {
+        writer.deleteAll();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Article> articles = blogRepository.streamAllAfter(0L)) {
+                articles.forEach(article -> {
+                    try {
+                        writer.addDocument(toDocument(article));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(article);
+                });
+            }
+        });
+
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    // 2. 글 저장/수정 시 해당 문서만 교체 (트랜잭션 안이면 커밋 이후에 반영)
+    public void index(Article article) {
+        Term term = new Term(ID, String.valueOf(article.getId()));
+        Document document = toDocument(article);
+
+        afterCommit(() -> {
+            writer.updateDocument(term, document);
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    // 3. 글 삭제 시 해당 문서만 삭제
+    public void delete(long id) {
+        afterCommit(() -> {
+            writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    // 4. 검색 : 제목(가중치 2)과 본문에서 검색하고 점수순으로 page 번째 페이지를 반환
+    public ArticleSearchResponse search(String queryText, int page, int size) throws IOException {
+        if (page < 0 || size < 1 || (long) (page + 1) * size > maxResultWindow) {
+            throw new IllegalArgumentException("page and size must stay within the first " + maxResultWindow + " results");
+        }
+
+        Query query = parse(queryText);
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try {
+            TopDocs topDocs = searcher.search(query, (page + 1) * size);
+            QueryScorer scorer = new QueryScorer(query, CONTENT);
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), scorer);
+            highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, FRAGMENT_SIZE));
+
+            List<ArticleSearchHit> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+            for (int i = page * size; i < scoreDocs.length; i++) {
+                Document document = searcher.storedFields().document(scoreDocs[i].doc);
+                hits.add(new ArticleSearchHit(Long.valueOf(document.get(ID)), document.get(TITLE),
+                        highlight(highlighter, document.get(CONTENT)), scoreDocs[i].score));
+            }
+
+            return new ArticleSearchResponse(topDocs.totalHits.value,
+                    topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO, page, size, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // 5. 마지막 커밋 이후 변경이 있으면 주기적으로 디스크에 커밋
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval-ms:5000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{TITLE, CONTENT}, analyzer,
+                Map.of(TITLE, 2f, CONTENT, 1f));
+
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(queryText)); // 문법 오류가 있으면 특수문자를 이스케이프해서 일반 단어로 검색
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("invalid query: " + queryText, escaped);
+            }
+        }
+    }
+
+    private String highlight(Highlighter highlighter, String content) throws IOException {
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, CONTENT, content);
+            if (fragment != null) {
+                return fragment;
+            }
+        } catch (InvalidTokenOffsetsException e) {
+            log.debug("Failed to highlight search result", e);
+        }
+
+        // 본문에 일치하는 단어가 없으면(제목만 일치) 본문 앞부분을 그대로 보여준다.
+        return HtmlUtils.htmlEscape(content.substring(0, Math.min(content.length(), FRAGMENT_SIZE)));
+    }
+
+    private Document toDocument(Article article) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(article.getId()), Field.Store.YES));
+        document.add(new TextField(TITLE, article.getTitle(), Field.Store.YES));
+        document.add(new TextField(CONTENT, article.getContent(), Field.Store.YES));
+        if (article.getUpdatedAt() != null) {
+            document.add(new LongPoint(UPDATED_AT, epochMillis(article.getUpdatedAt())));
+        }
+        return document;
+    }
+
+    // 인덱스에 있는 문서 중 가장 최근 수정 시각 (세그먼트마다 저장된 최댓값만 읽으므로 문서를 읽지 않는다)
+    private long indexedUpdatedAt() throws IOException {
+        searcherManager.maybeRefresh();
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try {
+            byte[] max = PointValues.getMaxPackedValue(searcher.getIndexReader(), UPDATED_AT);
+            return max == null ? Long.MIN_VALUE : LongPoint.decodeDimension(max, 0);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // DB(TIMESTAMP, 마이크로초)와 엔티티(나노초)의 정밀도가 달라서 밀리초로 맞춰서 비교한다.
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private void afterCommit(IndexTask task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    run(task);
+                }
+            });
+        } else {
+            run(task);
+        }
+    }
+
+    private void run(IndexTask task) {
+        try {
+            task.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws IOException;
+    }
+
+    /*
+    index-dir : 인덱스를 저장할 디렉터리. 비어 있으면 메모리(ByteBuffersDirectory)에 두는데, 메모리 H2 처럼 DB도 매번 새로 만들어지는 환경에 맞춘 기본값이다.
+        메모리 인덱스는 시작할 때마다 전체 글을 읽어서 만들므로, 파일 DB 를 쓰는 환경에서는 index-dir 을 지정해야 재시작 때 다시 만들지 않는다.
+    rebuildIfNeeded() : 문서 수만 비교하면 마지막 커밋 이후의 수정(문서 수는 그대로)이 사라진 것을 알 수 없다.
+        그래서 문서마다 글의 updated_at 을 LongPoint 로 넣어 두고, 인덱스의 최댓값이 DB 의 max(updated_at) 보다 이전이면 다시 만든다.
+        max(updated_at) 은 idx_article_updated_at 인덱스의 끝 값만 읽고, 인덱스 쪽도 세그먼트 메타데이터의 최댓값만 읽으므로 시작 시간에 영향이 없다.
+    IndexWriter : 문서를 추가/교체/삭제하는 객체로 스레드에 안전하며 애플리케이션에서 하나만 연다.
+    SearcherManager : IndexWriter 의 커밋되지 않은 변경까지 볼 수 있는 검색기(NRT, near-real-time)를 재사용한다.
+        maybeRefresh() 로 변경된 세그먼트만 다시 열기 때문에 글 하나를 수정할 때마다 인덱스 전체를 다시 읽지 않는다.
+    commit() : 디스크 반영(fsync)은 비용이 크므로 변경할 때마다 하지 않고 commit-interval-ms 마다 한 번만 한다.
+        프로세스가 비정상 종료되어 마지막 커밋 이후 변경이 사라져도, 다음 시작 시 문서 수나 수정 시각이 다르면 rebuildIfNeeded()에서 다시 만든다.
+    search() : 상위 (page + 1) * size 건만 점수순으로 모으므로 전체 일치 건수와 상관없이 비용이 일정하다.
+        max-result-window 보다 깊은 페이지는 거절해서 수백만 건에서도 응답 시간이 늘어나지 않도록 한다.
+    StandardAnalyzer : 한글은 띄어쓰기 단위로 색인된다. 조사까지 분리하려면 lucene-analysis-nori 의 KoreanAnalyzer 로 바꿀 수 있다.
+     */
+}
@@ -0,0 +1,218 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class ArticleViewCounter implements DisposableBean {
+    /*
+    글 조회수 카운터
+    조회할 때마다 DB를 갱신하지 않고 메모리의 글별 카운터만 올린 뒤, 주기적으로 모인 증가분(delta)을 한 번의 batch UPDATE 로 반영한다.
+     */
+
+    private static final String FLUSH_SQL = "update article set views = views + ? where id = ?";
+
+    // 캐시된 글의 조회수를 다시 읽을 때 IN 절 하나에 넣는 최대 id 수
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleCache articleCache;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // flush 가 카운터에서 꺼냈지만 아직 캐시된 글의 조회수에 반영하지 않은 증가분 (DB 반영 중)
+    private final Map<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    // 증가분이 카운터, flushing, 캐시된 글 사이를 옮겨 가는 동안 읽기가 중간 상태를 보지 않도록 하는 락 (flush 만 쓰기 락)
+    private final StampedLock transferLock = new StampedLock();
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate, ArticleCache articleCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleCache = articleCache;
+    }
+
+    // 조회수 1 증가 (락 없이 메모리에서만)
+    public void increment(long id) {
+        add(id, 1);
+    }
+
+    // 글의 카운터에 더한다. 더하는 사이에 flush 가 카운터를 맵에서 제거했다면 남은 값을 새 카운터로 옮긴다.
+    private void add(long id, long amount) {
+        LongAdder adder = pending.computeIfAbsent(id, key -> new LongAdder());
+        adder.add(amount);
+
+        while (pending.get(id) != adder) {
+            long orphaned = adder.sumThenReset(); // 0 이면 flush 가 제거한 뒤 이미 가져간 것
+            if (orphaned == 0) {
+                return;
+            }
+            adder = pending.computeIfAbsent(id, key -> new LongAdder());
+            adder.add(orphaned);
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 조회수 (반영 중인 증가분 포함)
+    public long pending(long id) {
+        return consistentRead(() -> unflushed(id));
+    }
+
+    // 글의 조회수 : 캐시된 글의 조회수와 아직 반영되지 않은 조회수를 flush 와 겹치지 않게 함께 읽는다.
+    public long viewCount(Article article) {
+        return consistentRead(() -> article.getViews() + unflushed(article.getId()));
+    }
+
+    private long unflushed(long id) {
+        LongAdder adder = pending.get(id);
+        return (adder == null ? 0 : adder.sum()) + flushing.getOrDefault(id, 0L);
+    }
+
+    // 락 없이 읽고, 그동안 flush 가 증가분을 옮겼으면 읽기 락으로 다시 읽는다.
+    private long consistentRead(LongSupplier reader) {
+        long stamp = transferLock.tryOptimisticRead();
+        long value = reader.getAsLong();
+
+        if (transferLock.validate(stamp)) {
+            return value;
+        }
+
+        stamp = transferLock.readLock();
+        try {
+            return reader.getAsLong();
+        } finally {
+            transferLock.unlockRead(stamp);
+        }
+    }
+
+    // 모인 증가분을 한 번의 batch UPDATE 로 반영
+    @Scheduled(fixedDelayString = "${blog.article.views.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> deltas = new ArrayList<>();
+
+        long stamp = transferLock.writeLock();
+        try {
+            pending.forEach((id, adder) -> {
+                long delta = adder.sumThenReset(); // 1. 읽은 만큼만 0 으로 되돌리고, 그 사이 증가분은 다음 flush 로 넘어간다.
+
+                if (delta > 0) {
+                    deltas.add(new Object[]{delta, id});
+                    flushing.put(id, delta); // 캐시된 글에 반영될 때까지 조회수에 계속 포함
+                } else if (pending.remove(id, adder)) {
+                    // 2. 한 주기 동안 조회가 없던 글은 맵에서 제거 (제거 직전에 들어온 증가분은 다시 넣는다)
+                    long late = adder.sumThenReset();
+                    if (late > 0) {
+                        add(id, late);
+                    }
+                }
+            });
+        } finally {
+            transferLock.unlockWrite(stamp);
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        deltas.sort((a, b) -> Long.compare((Long) a[1], (Long) b[1])); // 3. id 순서로 갱신해서 여러 인스턴스가 동시에 반영해도 교착 상태가 생기지 않도록 함
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, deltas);
+        } catch (DataAccessException e) {
+            // 4. 반영에 실패하면 증가분을 되돌려 두고 다음 주기에 다시 시도
+            log.warn("Failed to flush {} article view counters, retrying next interval: {}", deltas.size(), e.getMessage());
+            stamp = transferLock.writeLock();
+            try {
+                deltas.forEach(delta -> add((Long) delta[1], (Long) delta[0]));
+                flushing.clear();
+            } finally {
+                transferLock.unlockWrite(stamp);
+            }
+            return;
+        }
+
+        // 5. 캐시된 글은 제거하지 않고 조회수만 DB 값으로 바꾼다.
+        Map<Long, Long> refreshed = new HashMap<>();
+        List<Long> failed = new ArrayList<>();
+        readCachedViews(deltas, refreshed, failed);
+
+        // 6. 캐시된 글의 조회수 교체와 반영 중인 증가분 제거를 한 번에 (읽는 쪽에서 증가분이 빠지거나 두 번 더해지지 않음)
+        stamp = transferLock.writeLock();
+        try {
+            refreshed.forEach(articleCache::refreshViews);
+            failed.forEach(articleCache::evict);
+            flushing.clear();
+        } finally {
+            transferLock.unlockWrite(stamp);
+        }
+    }
+
+    // 캐시에 있는 글만 골라서 DB에 반영된 조회수를 다시 읽는다. 읽지 못한 글은 failed 에 담는다.
+    private void readCachedViews(List<Object[]> deltas, Map<Long, Long> refreshed, List<Long> failed) {
+        List<Long> cached = new ArrayList<>();
+
+        for (Object[] delta : deltas) {
+            Long id = (Long) delta[1];
+            if (articleCache.getIfPresent(id) != null) {
+                cached.add(id);
+            }
+        }
+
+        for (int from = 0; from < cached.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = cached.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, cached.size()));
+            String sql = "select id, views from article where id in (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            try {
+                jdbcTemplate.query(sql, rs -> {
+                    refreshed.put(rs.getLong("id"), rs.getLong("views"));
+                }, chunk.toArray());
+            } catch (DataAccessException e) {
+                // 조회수는 이미 반영되었으므로 다시 읽지 못한 글만 캐시에서 제거해서 다음 조회 때 새로 읽도록 한다.
+                log.warn("Failed to refresh views of {} cached articles, evicting them: {}", chunk.size(), e.getMessage());
+                failed.addAll(chunk);
+            }
+        }
+    }
+
+    // 정상 종료 시 남은 증가분 반영
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    /*
+    increment() : LongAdder 는 경합이 생기면 내부 셀(stripe)을 나눠서 스레드마다 다른 셀을 증가시키므로, 같은 글을 동시에 많이 조회해도 락이나 CAS 재시도가 몰리지 않는다.
+        UPDATE article SET views = views + 1 을 조회마다 실행하면 인기 글 한 행의 락에서 요청이 줄을 서게 된다.
+    add() : 조회 스레드가 카운터를 꺼낸 뒤 더하기 전에 flush 가 그 카운터를 맵에서 제거하면, 제거된 카운터에 더한 값은 다시 읽히지 않는다.
+        그래서 더한 뒤에도 맵에 같은 카운터가 있는지 확인하고, 없으면 sumThenReset() 으로 남은 값을 새 카운터로 옮긴다.
+        flush 도 제거한 뒤에 sumThenReset() 을 하므로 증가분은 둘 중 한쪽에서만 읽힌다. (유실되거나 두 번 반영되지 않음)
+    flush() : blog.article.views.flush-interval-ms 마다 글별 증가분을 모아 JdbcTemplate.batchUpdate() 로 한 번에 전송한다.
+        views 컬럼은 엔티티에서 insertable/updatable = false 이므로 JPA 의 저장/수정과 서로 덮어쓰지 않는다.
+    flushing, transferLock : 카운터를 0 으로 되돌린 뒤 캐시된 글의 views 를 DB 값으로 바꾸기 전까지는 증가분이 어디에도 보이지 않아서,
+        그동안 viewCount() 와 ETag 의 조회수가 잠깐 줄어들었다가 다시 오른다. 그래서 꺼낸 증가분을 flushing 에 두고,
+        캐시된 글의 views 를 바꾸는 순간에 함께 지운다. 두 번의 옮기기는 쓰기 락 안에서 하고, 읽기는 낙관적 읽기(tryOptimisticRead)라
+        flush 중이 아니면 락을 잡지 않는다. increment() 는 락을 쓰지 않는다. (증가만 하므로 읽는 값이 줄어들지 않음)
+        batch UPDATE 이후 refresh 전에 캐시에 새로 들어온 글은 이미 증가분이 포함된 값이라 그 사이(수 ms) 증가분만큼 크게 보일 수 있다.
+    readCachedViews() : 반영한 글을 캐시에서 제거하면 인기 글은 flush 마다 캐시 실패가 나서 본문까지 다시 조회하게 된다.
+        대신 캐시에 있는 글의 views 만 한 번의 IN 쿼리로 다시 읽어서 캐시된 엔티티에 넣는다. (캐시에 없는 글은 다음 조회 때 DB 값을 읽음)
+        증가분을 캐시된 값에 더하지 않고 DB 값을 읽는 이유는, batch UPDATE 이후에 캐시에 새로 들어온 글은 이미 증가분이 포함되어 있어서 두 번 더해질 수 있기 때문이다.
+    destroy() : 정상 종료(SIGTERM, 컨텍스트 종료) 시 DataSource 보다 먼저 정리되므로 남은 증가분을 DB에 반영한다.
+
+    유실 범위 : 프로세스가 비정상 종료(kill -9, OOM 등)되면 마지막 flush 이후의 증가분만 유실된다.
+        즉 글마다 최대 (flush-interval-ms + batch UPDATE 실행 시간) 동안의 조회수가 사라질 수 있다. (기본 1초)
+        DB 반영이 실패한 증가분은 메모리에 남아 있다가 다음 주기에 다시 반영되므로 DB 장애 동안의 조회수도 같은 조건으로만 유실된다.
+     */
+}
@@ -1,51 +1,292 @@
 package me.leeyeongju.bespringbootdeveloper.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
 import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleBatchResult;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleCursor;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleMultiGetItem;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleMultiGetResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSearchResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSummary;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleValidator;
+import me.leeyeongju.bespringbootdeveloper.dto.TrendingArticleResponse;
 import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.exception.ArticleConflictException;
+import me.leeyeongju.bespringbootdeveloper.exception.ArticleNotFoundException;
 import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor // final이 붙거나 @NotNull이 붙은 필드의 생성자 추가
 @Service // 빈으로 등록
+@Timed(value = "blog.service", histogram = true) // 모든 public 메서드의 실행 시간을 기록
 public class BlogService {
 
     private final BlogRepository blogRepository;
+    private final ArticleCache articleCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleViewCounter articleViewCounter;
+    private final TrendingArticles trendingArticles;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${blog.article.batch.chunk-size:50}")
+    private int batchChunkSize;
+
+    @Value("${blog.article.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${blog.article.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${blog.article.multi-get.chunk-size:100}")
+    private int multiGetChunkSize;
 
     // 블로그 글 추가 메서드
     public Article save(AddArticleRequest request) {
-        return blogRepository.save(request.toEntity());
+        Article savedArticle = blogRepository.save(request.toEntity());
+        articleCache.put(savedArticle);
+        articleSearchIndex.index(savedArticle);
+
+        return savedArticle;
+    }
+
+    // 여러 글을 chunk 단위로 나눠 저장하는 메서드, 요청 순서대로 항목별 결과를 반환
+    public List<ArticleBatchResult> saveAll(List<AddArticleRequest> requests) {
+        List<ArticleBatchResult> results = new ArrayList<>(requests.size());
+
+        for (int from = 0; from < requests.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, requests.size());
+            results.addAll(saveChunk(from, requests.subList(from, to)));
+        }
+
+        return results;
+    }
+
+    // chunk 하나를 하나의 트랜잭션으로 저장
+    private List<ArticleBatchResult> saveChunk(int offset, List<AddArticleRequest> chunk) {
+        ArticleBatchResult[] results = new ArticleBatchResult[chunk.size()];
+        Map<Integer, Article> articles = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            AddArticleRequest request = chunk.get(i);
+
+            if (request == null || request.getTitle() == null || request.getContent() == null) {
+                results[i] = ArticleBatchResult.failed(offset + i, "title and content are required"); // 1. 검증 실패 항목은 제외
+            } else {
+                articles.put(i, request.toEntity());
+            }
+        }
+
+        if (!articles.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    blogRepository.saveAll(articles.values()); // 2. 시퀀스로 id 를 미리 받고 persist
+                    blogRepository.flush(); // 3. INSERT 를 batch_size 만큼 묶어서 전송
+                    entityManager.clear(); // 4. 저장한 엔티티를 영속성 컨텍스트에서 비움
+                });
+                articles.forEach((i, article) -> {
+                    results[i] = ArticleBatchResult.created(offset + i, article.getId());
+                    articleSearchIndex.index(article);
+                });
+            } catch (DataAccessException | TransactionException e) {
+                // 5. chunk 가 롤백되면 chunk 안의 항목은 모두 실패
+                articles.keySet().forEach(i -> results[i] = ArticleBatchResult.failed(offset + i, e.getMostSpecificCause().getMessage()));
+            }
+        }
+
+        return Arrays.asList(results);
     }
 
     // 모든 글을 가져오는 메서드
+    @Transactional(readOnly = true)
     public List<Article> findAll() { // 목록으로 가져오기 위해 List 형식으로 가져옴
         return blogRepository.findAll();
     }
 
+    // 커서 다음의 글을 한 페이지만큼 가져오는 메서드 (cursor 가 null 이면 첫 페이지)
+    @Transactional(readOnly = true)
+    public Slice<ArticleSummary> findPage(ArticleCursor cursor, Integer size) {
+        int pageSize = (size == null || size < 1) ? defaultPageSize : Math.min(size, maxPageSize);
+        Pageable limit = PageRequest.ofSize(pageSize + 1); // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+
+        List<ArticleSummary> articles = cursor == null
+                ? blogRepository.findFirstPage(limit)
+                : blogRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), limit);
+
+        boolean hasNext = articles.size() > pageSize;
+
+        return new SliceImpl<>(hasNext ? articles.subList(0, pageSize) : articles,
+                PageRequest.ofSize(pageSize), hasNext);
+    }
+
+    // 글 목록 뷰에 필요한 컬럼(id, 제목, 본문 발췌)만 가져오는 메서드
+    @Transactional(readOnly = true)
+    public List<ArticleListViewResponse> findAllListViews() {
+        return blogRepository.findAllListViews();
+    }
+
+    // afterId 다음 글부터 모든 글을 한 건씩 writer 에 전달하는 메서드
+    @Transactional(readOnly = true)
+    public void exportAfter(long afterId, Consumer<Article> writer) {
+        try (Stream<Article> articles = blogRepository.streamAllAfter(afterId)) {
+            articles.forEach(article -> {
+                writer.accept(article);
+                entityManager.detach(article); // 전달한 글은 영속성 컨텍스트에서 분리해서 메모리가 쌓이지 않도록 함
+            });
+        }
+    }
+
+    // 글의 마지막 수정 시각과 조회수만 가져오는 메서드 (조건부 요청 검증용) : 캐시에 있으면 DB 를 조회하지 않는다.
+    public ArticleValidator findValidator(long id) {
+        Article cached = articleCache.getIfPresent(id);
+
+        if (cached != null) {
+            return new ArticleValidator(cached.getUpdatedAt(), viewCount(cached));
+        }
+
+        ArticleValidator stored = blogRepository.findValidatorById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+        return new ArticleValidator(stored.getUpdatedAt(), stored.getViews() + articleViewCounter.pending(id));
+    }
+
+    // 제목과 본문에서 검색하는 메서드
+    public ArticleSearchResponse search(String query, int page, int size) throws IOException {
+        return articleSearchIndex.search(query, page, size);
+    }
+
     // 글 하나만 조회하는 메서드
     public Article findById(long id) {
-        return blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+        Article article = articleCache.get(id, key -> blogRepository.findById(key)
+                .orElseThrow(() -> new ArticleNotFoundException(key)));
+        trendingArticles.record(article); // 인기 글 집계 (메모리에서만)
+
+        return article;
+    }
+
+    // 여러 글을 id 로 한 번에 조회하는 메서드 : 요청한 id 순서를 유지하고, 없는 글의 id 는 missing 으로 반환
+    public ArticleMultiGetResponse findAllById(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids); // 1. 중복 제거 (처음 나온 순서 유지)
+        Map<Long, Article> found = articleCache.getAll(uniqueIds, this::loadAllById); // 2. 캐시에 없는 글만 DB 조회
+
+        List<ArticleMultiGetItem> articles = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+
+        for (Long id : uniqueIds) { // 3. 요청 순서대로 응답
+            Article article = found.get(id);
+            if (article == null) {
+                missing.add(id);
+            } else {
+                articles.add(new ArticleMultiGetItem(article, viewCount(article)));
+            }
+        }
+
+        return new ArticleMultiGetResponse(articles, missing);
+    }
+
+    // 캐시에 없는 글을 multiGetChunkSize 개씩 IN 쿼리로 조회
+    private Map<Long, Article> loadAllById(Set<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        Map<Long, Article> articles = new HashMap<>(idList.size() * 2);
+
+        for (int from = 0; from < idList.size(); from += multiGetChunkSize) {
+            List<Long> chunk = idList.subList(from, Math.min(from + multiGetChunkSize, idList.size()));
+            blogRepository.findAllWithBodyByIdIn(chunk).forEach(article -> articles.put(article.getId(), article));
+        }
+
+        return articles;
+    }
+
+    // 최근 많이 조회된 글을 limit 개 가져오는 메서드 (DB 조회 없음)
+    public List<TrendingArticleResponse> findTrending(int limit) {
+        return trendingArticles.top(limit);
+    }
+
+    // 글 조회수를 1 올리는 메서드 (DB 반영은 ArticleViewCounter 가 주기적으로 모아서 함)
+    public void recordView(long id) {
+        articleViewCounter.increment(id);
+    }
+
+    // DB에 반영된 조회수와 아직 반영되지 않은 조회수를 합한 값
+    public long viewCount(Article article) {
+        return articleViewCounter.viewCount(article);
     }
 
     // 글 삭제하는 delete() 메서드
+    @Transactional
     public void delete(long id) {
-        blogRepository.deleteById(id);
+        delete(id, null);
     }
 
-    // 글 수정하는 update() 메서드
+    // version 이 현재 버전과 같을 때만 글을 삭제하는 delete() 메서드 (version 이 null 이면 확인하지 않음)
     @Transactional
-    public Article update(long id, UpdateArticleRequest request) {
-        Article article = blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+    public void delete(long id, Long version) {
+        if (blogRepository.deleteIfVersionMatches(id, version) == 0) { // 본문 삭제 -> ON DELETE CASCADE 로 글 삭제
+            throw notFoundOrConflict(id, version);
+        }
 
-        article.update(request.getTitle(), request.getContent());
+        articleCache.evict(id);
+        articleSearchIndex.delete(id);
+        trendingArticles.remove(id); // 커밋 이후 인기 글 후보에서 제거
+    }
 
-        return article;
+    // 글 수정하는 update() 메서드 : 요청에 포함된(null 이 아닌) 필드만 수정
+    @Transactional
+    public UpdateArticleResponse update(long id, UpdateArticleRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (blogRepository.updateIfVersionMatches(id, request.getTitle(), Article.excerpt(request.getContent()),
+                request.getVersion(), now) == 0) {
+            throw notFoundOrConflict(id, request.getVersion());
+        }
+        if (request.getContent() != null) {
+            blogRepository.updateContent(id, request.getContent()); // 본문은 article_body 테이블
+        }
+
+        // 수정 후 상태를 다시 읽는다. (PATCH 로 보내지 않은 필드와 version 없이 수정한 경우의 새 버전도 응답에 담기 위해)
+        Article updated = blogRepository.findById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+
+        articleCache.evict(id);
+        articleSearchIndex.index(updated); // 커밋 이후 검색 인덱스 반영
+        trendingArticles.updateTitle(id, updated.getTitle()); // 커밋 이후 인기 글 후보의 제목 반영
+
+        return new UpdateArticleResponse(updated);
+    }
+
+    // 영향받은 행이 없을 때 : 버전을 지정했고 글이 있으면 다른 요청이 먼저 수정한 것(409), 아니면 글이 없는 것(404)
+    private RuntimeException notFoundOrConflict(long id, Long version) {
+        if (version != null && blogRepository.existsById(id)) {
+            return new ArticleConflictException(id, version);
+        }
+
+        return new ArticleNotFoundException(id);
     }
 
     /*
@@ -54,8 +295,35 @@ public class BlogService {
     @Transaction : 매칭한 메서드를 하나의 트랜잭션으로 묶는 역할을 한다. update() 메서드는 엔티티의 필드 값이 바뀌면 중간에 에러가 발생해도 제대로 된 수정을 보장한다.
 
     save() : JpaRepository에서 지원하는 저장 메서드 save()로 AddArticleRequest 클래스에 저장된 값들을 article 데이터 베이스에 저장한다.
+    saveAll() : 요청을 chunk-size(기본 50, hibernate.jdbc.batch_size 와 같게) 단위로 나눠 chunk 마다 하나의 트랜잭션으로 저장한다.
+        Article 의 id 가 시퀀스(pooled) 방식이므로 INSERT 가 JDBC batch 로 묶여서 전송된다.
+        제목이나 내용이 없는 항목은 저장하지 않고 FAILED 로 표시하며, chunk 가 DB 오류로 롤백되면 그 chunk 의 항목만 FAILED 가 된다.
+        TransactionTemplate : 같은 클래스 안의 메서드 호출은 프록시를 거치지 않아 @Transactional 이 적용되지 않으므로, chunk 마다 트랜잭션을 코드로 시작한다.
     findAll() : Jpa 지원 메서드 findAll()을 호출해 article 테이블에 저장되어 있는 모든 데이터를 조회한다.
-    findById() : JPA에서 제공하는 findById() 메서드를 사용하여 ID를 받아 엔티티를 조회하고 없으면 IllegalArgumentException 예외를 발생한다.
+    findPage() : 키셋 페이지네이션으로 한 페이지만 조회한다. 페이지 크기는 blog.article.page.max-size 를 넘을 수 없다.
+        pageSize + 1 건을 조회해서 남는 한 건이 있으면 다음 페이지가 있는 것으로 판단한다. (별도의 count 쿼리가 필요 없음)
+    findAllListViews() : 목록 뷰에 필요한 컬럼만 DTO 프로젝션으로 조회한다. 엔티티를 만들지 않으므로 영속성 컨텍스트와 변경 감지 비용이 없다.
+    @Transactional(readOnly = true) : 조회 전용 트랜잭션으로 실행한다. 스프링은 읽기 전용 트랜잭션에서 하이버네이트 세션의 flush 모드를 MANUAL 로 바꾸므로 커밋 시 flush(변경 감지)도 일어나지 않는다.
+    exportAfter() : 스트림으로 한 건씩 읽어서 전달한 뒤 detach 하므로 테이블 크기와 상관없이 메모리 사용량이 일정하다.
+    findById() : JPA에서 제공하는 findById() 메서드를 사용하여 ID를 받아 엔티티를 조회하고 없으면 ArticleNotFoundException(IllegalArgumentException, 404) 예외를 발생한다.
+        ArticleCache 를 먼저 확인하고 캐시에 없을 때만 DB를 조회한다. 조회한 글은 TrendingArticles 에 기록된다.
+    findAllById() : 대시보드처럼 특정 글 수십~수백 개가 필요한 클라이언트가 글마다 findById() 를 요청하지 않도록 한 번에 조회한다.
+        ArticleCache 에 있는 글은 그대로 쓰고, 없는 글만 multi-get.chunk-size(기본 100)개씩 IN 쿼리로 조회해서 캐시에 넣는다.
+        글마다 트랜잭션을 열지 않고 chunk 조회마다 리포지토리의 읽기 전용 트랜잭션을 사용한다. (모두 캐시 적중이면 DB 커넥션을 쓰지 않음)
+        요청 수를 줄이기 위한 경로이므로 TrendingArticles(인기 글 집계)에는 기록하지 않는다.
+        한 번에 요청할 수 있는 id 수는 컨트롤러에서 multi-get.max-ids 로 제한한다.
+    findTrending() : TrendingArticles 가 메모리에 유지하는 인기 글 후보를 추정 빈도순으로 반환한다.
+    findValidator() : 컨트롤러가 본문을 조회하기 전에 ETag/Last-Modified 를 비교할 수 있도록 수정 시각과 조회수만 가져온다.
+        캐시에 있는 글은 캐시된 엔티티의 updatedAt, views 를 쓰고, 캐시 실패일 때만 두 컬럼을 조회한다.
+        응답 본문에 조회수가 들어가므로 조회수가 바뀌어도 ETag 가 바뀌어야 한다.
+        캐시는 수정/삭제 시 커밋 이후에 제거되므로 캐시된 updatedAt 이 DB 보다 오래된 값으로 남지 않는다.
+    search() : ArticleSearchIndex(루씬)에서 검색한다. 인덱스는 save(), saveAll(), update(), delete() 에서 바뀐 글만 커밋 이후에 갱신한다.
+    update(), delete() : 엔티티를 조회해서 변경 감지로 수정하는 대신 UPDATE/DELETE 문만 실행한다. (엔티티 조회와 영속성 컨텍스트 비용이 없음)
+        update() 는 수정한 뒤 같은 트랜잭션에서 글을 한 번 다시 읽어서 수정 후 상태(보내지 않은 필드, 새 버전)로 응답하고 검색 인덱스도 그 값으로 갱신한다.
+        본문은 article_body 테이블에 있으므로 본문을 바꿀 때는 UPDATE 문이 하나 더 실행되고,
+        삭제할 때는 본문을 지우면 article.body_id 외래 키의 ON DELETE CASCADE 로 글이 함께 지워지므로 DELETE 문 하나로 끝난다.
+        영향받은 행이 0 이면 글이 없거나(404) 요청한 version 이 현재 버전과 달라서(409) 실패한 것이다. 이 경우에만 existsById() 로 원인을 구분한다.
+    save(), update(), delete() : 글이 바뀌면 캐시를 갱신(put)하거나 제거(evict)해서 쓰기가 끝난 뒤에는 이전 내용이 조회되지 않도록 한다.
 
 
      */
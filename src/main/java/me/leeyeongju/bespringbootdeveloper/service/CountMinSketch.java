@@ -0,0 +1,87 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class CountMinSketch {
+    /*
+    Count-Min Sketch : 키마다 카운터를 두지 않고 depth x width 크기의 고정된 카운터 배열로 빈도를 근사하는 자료구조
+    키 개수와 상관없이 메모리가 일정하고, 추정값은 실제 값보다 작지 않다. (충돌로 인해 크게만 틀린다)
+     */
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    // epsilon : 허용 오차 비율, delta : 오차가 epsilon * N 을 넘을 확률
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+        }
+
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    // key 의 빈도를 count 만큼 올리고, 올린 뒤의 추정값을 반환
+    public long add(long key, long count) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, hash1, hash2), count));
+        }
+
+        return estimate;
+    }
+
+    // key 의 빈도 추정값 (행마다 카운터 중 가장 작은 값)
+    public long estimate(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash1, hash2)));
+        }
+
+        return estimate;
+    }
+
+    // 모든 카운터를 절반으로 줄여서 오래된 빈도의 영향을 줄인다. (지수 감쇠)
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >> 1);
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    // row 번째 해시 함수 : h1 + row * h2 (두 해시로 depth 개의 독립적인 해시를 만든다)
+    private int index(int row, long hash1, long hash2) {
+        return row * width + (int) Math.floorMod(hash1 + row * hash2, (long) width);
+    }
+
+    // SplitMix64 의 마무리 단계 : 연속된 id 도 고르게 흩어지도록 섞는다.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+    크기 : width = ceil(e / epsilon), depth = ceil(ln(1 / delta))
+        전체 빈도 합이 N 일 때, 추정값은 확률 1 - delta 이상으로 (실제 값 + epsilon * N) 이하이다.
+        예) epsilon = 0.0001, delta = 0.001 이면 27183 x 7 개의 long (약 1.5MB) 으로 글이 몇 개든 같은 메모리를 사용한다.
+    동시성 : AtomicLongArray 로 카운터마다 원자적으로 증가시키므로 락 없이 여러 요청 스레드가 동시에 add() 할 수 있다.
+    decay() : 행마다 카운터를 동시에 줄이지는 않지만, 각 카운터가 정확히 한 번씩 절반이 되므로 추정값도 대략 절반이 된다.
+     */
+}
@@ -0,0 +1,158 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.leeyeongju.bespringbootdeveloper.config.TokenProvider;
+import me.leeyeongju.bespringbootdeveloper.domain.RefreshToken;
+import me.leeyeongju.bespringbootdeveloper.domain.User;
+import me.leeyeongju.bespringbootdeveloper.domain.UserPrincipal;
+import me.leeyeongju.bespringbootdeveloper.dto.TokenResponse;
+import me.leeyeongju.bespringbootdeveloper.exception.PasswordHashingRejectedException;
+import me.leeyeongju.bespringbootdeveloper.repository.RefreshTokenRepository;
+import me.leeyeongju.bespringbootdeveloper.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "blog.security.token.enabled", havingValue = "true")
+public class TokenService {
+    /*
+    액세스 토큰/리프레시 토큰을 발급, 재발급, 폐기하는 서비스
+     */
+
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final TokenProvider tokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final AuthenticationManager authenticationManager;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${blog.security.token.refresh-token-ttl:14d}")
+    private Duration refreshTokenTtl;
+
+    // 1. email/password 로 인증한 뒤 토큰 발급
+    public TokenResponse issue(String email, String password) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+        } catch (AuthenticationException e) {
+            if (e.getCause() instanceof PasswordHashingRejectedException rejected) {
+                throw rejected; // 해시 대기열이 가득 찬 경우 503
+            }
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid credentials");
+        }
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return createTokens(principal.getId(), principal.getEmail(), principal);
+    }
+
+    // 2. 리프레시 토큰으로 토큰 재발급 (사용한 리프레시 토큰은 삭제)
+    @Transactional
+    public TokenResponse refresh(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .filter(token -> !token.isExpired(LocalDateTime.now()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid refresh token"));
+
+        if (refreshTokenRepository.consume(stored.getId()) == 0) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid refresh token"); // 동시에 이미 사용됨
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid refresh token"));
+
+        return createTokens(user.getId(), user.getEmail(), user);
+    }
+
+    // 3. 토큰 폐기 (로그아웃) : 액세스 토큰은 폐기 목록에, 리프레시 토큰은 DB 에서 삭제
+    @Transactional
+    public void revoke(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            TokenProvider.Claims claims = tokenProvider.parse(accessToken).orElse(null);
+            if (claims != null && !tokenProvider.revoke(claims)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "token revocation list is full");
+            }
+        }
+        if (refreshToken != null) {
+            refreshTokenRepository.deleteByTokenHash(hash(refreshToken));
+        }
+    }
+
+    // 만료된 리프레시 토큰 정리
+    @Scheduled(fixedDelayString = "${blog.security.token.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private TokenResponse createTokens(long userId, String email, UserDetails user) {
+        String accessToken = tokenProvider.createAccessToken(userId, email, user.getAuthorities());
+
+        byte[] random = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(refreshToken))
+                .expiresAt(LocalDateTime.now().plus(refreshTokenTtl))
+                .build());
+
+        return new TokenResponse(accessToken, TOKEN_TYPE, tokenProvider.getAccessTokenTtl().toSeconds(), refreshToken);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /*
+    1. issue() :
+    AuthenticationManager 로 email/password 를 검증한다. (폼 로그인과 같은 BoundedPasswordEncoder, UserDetailService 캐시 사용)
+    패스워드 해시 검증은 수백 ms 가 걸리므로 @Transactional 을 붙이지 않는다. (해시하는 동안 DB 커넥션을 잡고 있지 않도록)
+    리프레시 토큰 저장은 save() 자체의 트랜잭션에서 처리한다.
+
+    2. refresh() :
+    리프레시 토큰은 한 번만 사용할 수 있다. 사용하면 삭제하고 새 리프레시 토큰을 함께 발급한다.
+    재발급 시 사용자를 다시 조회하므로 삭제된 사용자는 더 이상 토큰을 받을 수 없다.
+
+    3. revoke() :
+    폐기 목록은 TokenProvider 가 메모리에 토큰의 만료 시각까지만 보관한다.
+    폐기 목록이 가득 차서 액세스 토큰을 폐기하지 못하면 503 으로 응답하고, 트랜잭션이 롤백되어 리프레시 토큰도 그대로 남는다. (다시 시도 가능)
+
+    blog.security.token.enabled=true 일 때만 빈으로 등록된다. (토큰 API 인 TokenApiController 도 같은 조건)
+
+    리프레시 토큰은 32바이트 난수이고 DB 에는 SHA-256 해시만 저장한다.
+    (난수 자체의 엔트로피가 충분하므로 패스워드처럼 느린 해시를 쓸 필요가 없다.)
+     */
+}
@@ -0,0 +1,165 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.TrendingArticleResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TrendingArticles {
+    /*
+    최근 많이 조회된 글(trending) 목록
+    글 조회(BlogService.findById) 빈도를 Count-Min Sketch 로 근사하고, 추정값이 큰 상위 capacity 개의 글만 후보로 유지한다.
+    DB를 조회하지 않고 메모리의 후보 목록만 정렬해서 반환한다.
+     */
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+
+    private volatile long minScore; // 후보가 가득 찼을 때 후보 중 가장 작은 추정값 (이하면 후보가 될 수 없음)
+
+    public TrendingArticles(@Value("${blog.trending.epsilon:0.0001}") double epsilon,
+                            @Value("${blog.trending.delta:0.001}") double delta,
+                            @Value("${blog.trending.capacity:100}") int capacity) {
+        this.sketch = new CountMinSketch(epsilon, delta);
+        this.capacity = capacity;
+    }
+
+    // 글 조회 1회 기록
+    public void record(Article article) {
+        long score = sketch.add(article.getId(), 1);
+        Candidate candidate = candidates.get(article.getId());
+
+        if (candidate != null) {
+            candidate.update(article.getTitle(), score); // 1. 이미 후보면 추정값만 갱신 (락 없음)
+            return;
+        }
+
+        if (candidates.size() >= capacity && score <= minScore) {
+            return; // 2. 후보가 가득 찼고 가장 작은 후보보다 작으면 무시 (대부분의 조회가 여기서 끝남)
+        }
+
+        admit(article, score);
+    }
+
+    // 글이 수정되면 후보의 제목을 바꾼다. (커밋 이후, 후보가 아니면 무시)
+    public void updateTitle(long id, String title) {
+        afterCommit(() -> {
+            Candidate candidate = candidates.get(id);
+            if (candidate != null) {
+                candidate.title = title;
+            }
+        });
+    }
+
+    // 글이 삭제되면 후보에서 뺀다. (커밋 이후)
+    public void remove(long id) {
+        afterCommit(() -> {
+            synchronized (this) { // admit() 와 같은 락으로 후보 수와 minScore 를 함께 갱신
+                if (candidates.remove(id) != null) {
+                    minScore = candidates.size() >= capacity ? currentMinScore() : 0;
+                }
+            }
+        });
+    }
+
+    // 추정값이 큰 순서로 limit 개 반환
+    public List<TrendingArticleResponse> top(int limit) {
+        return candidates.entrySet().stream()
+                .map(entry -> new TrendingArticleResponse(entry.getKey(), entry.getValue().title, entry.getValue().score))
+                .sorted(Comparator.comparingLong(TrendingArticleResponse::getScore).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // 주기적으로 모든 빈도를 절반으로 줄여서 최근 조회가 더 큰 비중을 갖도록 한다.
+    @Scheduled(fixedDelayString = "${blog.trending.decay-interval-ms:60000}")
+    public synchronized void decay() {
+        sketch.decay();
+        candidates.values().removeIf(candidate -> candidate.decay() == 0);
+        minScore = currentMinScore();
+    }
+
+    // 후보에 추가하고, 가득 찼으면 가장 작은 후보보다 클 때만 그 후보와 교체
+    private synchronized void admit(Article article, long score) {
+        if (candidates.containsKey(article.getId())) {
+            return;
+        }
+
+        if (candidates.size() >= capacity) {
+            Map.Entry<Long, Candidate> smallest = candidates.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().score))
+                    .orElseThrow();
+
+            if (score <= smallest.getValue().score) {
+                minScore = smallest.getValue().score; // 후보들의 추정값이 그동안 올랐으므로 기준값도 갱신
+                return;
+            }
+
+            candidates.remove(smallest.getKey());
+        }
+
+        candidates.put(article.getId(), new Candidate(article.getTitle(), score));
+        minScore = candidates.size() >= capacity ? currentMinScore() : 0;
+    }
+
+    private long currentMinScore() {
+        return candidates.values().stream()
+                .mapToLong(candidate -> candidate.score)
+                .min()
+                .orElse(0);
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 실행 (롤백되면 실행하지 않음)
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private static final class Candidate {
+        private volatile String title;
+        private volatile long score;
+
+        private Candidate(String title, long score) {
+            this.title = title;
+            this.score = score;
+        }
+
+        private void update(String title, long score) {
+            this.title = title;
+            this.score = score;
+        }
+
+        private long decay() {
+            return score >>= 1;
+        }
+    }
+
+    /*
+    메모리 : CountMinSketch(width x depth 개의 long) + 후보 capacity 개로, 글이 몇 개든 일정하다.
+    정확도 : blog.trending.epsilon, blog.trending.delta 로 조절한다. (CountMinSketch 참고)
+        추정값은 실제 빈도보다 작지 않으므로 자주 조회되는 글이 후보에서 빠지지는 않고, 덜 조회된 글이 충돌로 약간 높게 보일 수 있다.
+    감쇠 : blog.trending.decay-interval-ms 마다 빈도가 절반이 되므로 (기본 1분) 한 번의 조회가 순위에 주는 영향은 몇 분 안에 사라진다.
+    record() : 조회마다 실행되므로 대부분 락 없이 끝나고, 새 글이 후보에 들어갈 때만 synchronized 로 후보를 정리한다.
+    updateTitle(), remove() : 후보는 조회할 때의 제목을 들고 있으므로, 글이 수정되거나 삭제되면 BlogService 가 커밋 이후에 후보를 고친다.
+        삭제된 글의 빈도는 CountMinSketch 에 남지만 감쇠로 사라지고, 삭제된 글은 더 이상 조회되지 않으므로 다시 후보가 되지 않는다.
+    top() : 후보 capacity 개만 정렬하므로 DB 조회 없이 마이크로초 단위로 응답한다.
+     */
+}
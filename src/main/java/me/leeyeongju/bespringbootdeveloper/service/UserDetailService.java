@@ -1,25 +1,71 @@
 package me.leeyeongju.bespringbootdeveloper.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import me.leeyeongju.bespringbootdeveloper.domain.User;
+import me.leeyeongju.bespringbootdeveloper.domain.UserPrincipal;
 import me.leeyeongju.bespringbootdeveloper.repository.UserRepository;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
 
-@RequiredArgsConstructor
 @Service
-public class UserDetailService implements UserDetailsService {
+public class UserDetailService implements UserDetailsService, UserDetailsPasswordService {
     /*
     스프링 시큐리티에서 로그인을 진행할 때 사용자 정보를 가져오는 코드
      */
 
     private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> principalCache;
+
+    public UserDetailService(UserRepository userRepository,
+                             @Value("${blog.user.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${blog.user.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
 
     // 사용자 이름(email)으로 사용자의 정보를 가져오는 메서드
     @Override
-    public User loadUserByUsername(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow( () -> new IllegalArgumentException((email)));
+    public UserPrincipal loadUserByUsername(String email) {
+        return principalCache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserPrincipal::new)
+                .orElseThrow( () -> new IllegalArgumentException((key))));
     }
+
+    // 패스워드가 바뀐 사용자의 정보를 저장하고 캐시를 갱신하는 메서드
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new IllegalArgumentException(userDetails.getUsername()));
+        user.updatePassword(newPassword);
+
+        UserPrincipal principal = new UserPrincipal(user);
+        principalCache.put(principal.getEmail(), principal);
+
+        return principal;
+    }
+
+    // 사용자 정보가 바뀌었을 때 캐시에서 제거하는 메서드
+    public void evict(String email) {
+        principalCache.invalidate(email);
+    }
+
+    /*
+    loadUserByUsername() : 로그인할 때마다 users 테이블을 조회하지 않도록 email 을 키로 인증 객체(UserPrincipal)를 캐시한다.
+        엔티티(User)가 아니라 불변 객체인 UserPrincipal 을 캐시하고 반환하므로 세션에도 엔티티 대신 UserPrincipal 이 저장된다.
+        캐시는 최대 개수와 TTL 로 크기가 제한되고, 없는 사용자(예외)는 캐시하지 않는다.
+    updatePassword() : UserDetailsPasswordService 구현. 패스워드가 바뀌면 DB에 저장한 뒤 캐시의 값을 새 인증 객체로 교체한다.
+    evict() : 회원 가입 등으로 사용자 정보가 바뀌었을 때 UserService 에서 호출한다.
+     */
 }
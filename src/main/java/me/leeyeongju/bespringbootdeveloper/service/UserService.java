@@ -4,7 +4,7 @@ import lombok.RequiredArgsConstructor;
 import me.leeyeongju.bespringbootdeveloper.domain.User;
 import me.leeyeongju.bespringbootdeveloper.dto.AddUserRequest;
 import me.leeyeongju.bespringbootdeveloper.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -15,21 +15,27 @@ public class UserService {
      */
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailService userDetailService;
 
     // AddUserRequest 객체를 인수로 받는 회원 정보 추가 메서드
     public Long save(AddUserRequest dto) {
-        return userRepository.save(User.builder()
+        Long id = userRepository.save(User.builder()
                 .email(dto.getEmail())
                 // 1. 패스워드 암호화
-                .password(bCryptPasswordEncoder.encode(dto.getPassword()))
+                .password(passwordEncoder.encode(dto.getPassword())) // 동시 해시 수 제한 (BoundedPasswordEncoder), 대기열이 가득 차면 503
                 .build()).getId();
+
+        userDetailService.evict(dto.getEmail()); // 2. 캐시된 인증 정보 제거
+
+        return id;
     }
     
     /*
     1. AddUserRequest 객체를 인수로 받는 회원 정보 추가 메서드 
     save() : 
     패스워드를 저장할 때 시큐리티를 설정하며 패스워드 인코딩용으로 등록한 빈을 사용해서 암호화한 후 저장
+    저장한 뒤에는 UserDetailService 의 인증 정보 캐시에서 해당 email 을 제거한다.
     
      */
 }
@@ -1,3 +1,7 @@
-INSERT INTO article (title, content, created_at, updated_at) values ('제목 1', '내용 1', NOW(), NOW());
-INSERT INTO article (title, content, created_at, updated_at) values ('제목 2', '내용 2', NOW(), NOW());
-INSERT INTO article (title, content, created_at, updated_at) values ('제목 3', '내용 3', NOW(), NOW())
\ No newline at end of file
+-- 본문(article_body)을 먼저 넣고, 글(article)은 방금 받은 본문 id(CURRENT VALUE)를 참조한다.
+INSERT INTO article_body (id, content) VALUES (NEXT VALUE FOR article_body_seq, '내용 1');
+INSERT INTO article (id, title, excerpt, body_id, created_at, updated_at) VALUES (NEXT VALUE FOR article_seq, '제목 1', '내용 1', CURRENT VALUE FOR article_body_seq, NOW(), NOW());
+INSERT INTO article_body (id, content) VALUES (NEXT VALUE FOR article_body_seq, '내용 2');
+INSERT INTO article (id, title, excerpt, body_id, created_at, updated_at) VALUES (NEXT VALUE FOR article_seq, '제목 2', '내용 2', CURRENT VALUE FOR article_body_seq, NOW(), NOW());
+INSERT INTO article_body (id, content) VALUES (NEXT VALUE FOR article_body_seq, '내용 3');
+INSERT INTO article (id, title, excerpt, body_id, created_at, updated_at) VALUES (NEXT VALUE FOR article_seq, '제목 3', '내용 3', CURRENT VALUE FOR article_body_seq, NOW(), NOW());
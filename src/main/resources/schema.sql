@@ -1,7 +1,50 @@
+-- 글 id 시퀀스 (Article 의 @SequenceGenerator allocationSize 와 같은 크기로 증가)
+CREATE SEQUENCE IF NOT EXISTS article_seq START WITH 1 INCREMENT BY 50;
+
+-- 글 본문 id 시퀀스 (ArticleBody 의 @SequenceGenerator allocationSize 와 같은 크기로 증가)
+CREATE SEQUENCE IF NOT EXISTS article_body_seq START WITH 1 INCREMENT BY 50;
+
+-- 글 본문 : 목록 조회 시 읽지 않도록 article 과 분리 (길이 제한 없음)
+CREATE TABLE IF NOT EXISTS article_body(
+    id BIGINT PRIMARY KEY,
+    content CLOB NOT NULL
+);
+
 CREATE TABLE IF NOT EXISTS article(
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
-    content VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP,
+    excerpt VARCHAR(100) NOT NULL,
+    body_id BIGINT NOT NULL UNIQUE REFERENCES article_body (id) ON DELETE CASCADE, -- 본문을 지우면 글도 삭제
+    views BIGINT DEFAULT 0 NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP NOT NULL, -- 키셋 페이지네이션의 커서 (null 이면 정렬/비교에서 빠짐)
     updated_at TIMESTAMP
-);
\ No newline at end of file
+);
+
+-- 이전 스키마(created_at 이 nullable)로 만든 DB : 비어 있는 created_at 을 채운 뒤 NOT NULL 로 바꾼다. (여러 번 실행해도 됨)
+UPDATE article SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+ALTER TABLE article ALTER COLUMN created_at SET NOT NULL;
+
+-- 키셋 페이지네이션 (created_at, id) 정렬/탐색용 인덱스
+CREATE INDEX IF NOT EXISTS idx_article_created_at_id ON article (created_at, id);
+
+-- 조건부 요청(ETag, Last-Modified) 검증 시 max(updated_at) 조회용 인덱스
+CREATE INDEX IF NOT EXISTS idx_article_updated_at ON article (updated_at);
+
+-- 회원 (User)
+CREATE TABLE IF NOT EXISTS users(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255)
+);
+
+-- 리프레시 토큰 (RefreshToken), 토큰 원문이 아니라 SHA-256 해시만 저장
+CREATE TABLE IF NOT EXISTS refresh_token(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_id ON refresh_token (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token (expires_at);
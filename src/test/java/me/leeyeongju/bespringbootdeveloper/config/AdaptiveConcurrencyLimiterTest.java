@@ -0,0 +1,79 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 100, 2.0, Duration.ofSeconds(1), 0.5, now::get);
+    }
+
+    @DisplayName("한도까지만 받고, 읽기는 한도의 share 비율까지만 받는다.")
+    @Test
+    void tryAcquire() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // when
+        int reads = 0;
+        while (limiter.tryAcquire(0.5)) {
+            reads++;
+        }
+        int writes = 0;
+        while (limiter.tryAcquire(1.0)) {
+            writes++;
+        }
+
+        // then
+        assertThat(reads).isEqualTo(5);
+        assertThat(writes).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+
+        limiter.release(-1);
+        assertThat(limiter.getInFlight()).isEqualTo(9);
+        assertThat(limiter.tryAcquire(1.0)).isTrue();
+    }
+
+    @DisplayName("응답 시간이 평소보다 느려지면 한도를 줄이고, 다시 빨라지면 한도를 늘린다.")
+    @Test
+    void adjustLimit() {
+        // given : 평소 응답 시간 10ms
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.release(FAST);
+        }
+        double initial = limiter.getLimit();
+
+        // when : 응답 시간이 100ms 로 느려짐
+        now.addAndGet(SLOW * 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.release(SLOW);
+        }
+        double decreased = limiter.getLimit();
+
+        // then : 한도가 줄어들고, 다시 빨라져서 한도 가까이 사용하면 늘어난다.
+        assertThat(decreased).isLessThan(initial);
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.tryAcquire(1.0)) {
+                // 한도까지 채움
+            }
+            limiter.release(FAST);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(decreased);
+    }
+}
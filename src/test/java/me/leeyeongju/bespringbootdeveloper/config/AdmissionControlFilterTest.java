@@ -0,0 +1,80 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    // 한도 10, 읽기는 한도의 절반까지
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 2.0, Duration.ofSeconds(1), 0.9);
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limiter, 0.5, Duration.ofSeconds(2));
+
+    @DisplayName("한도를 모두 쓰고 있으면 다음 필터로 넘기지 않고 503 과 Retry-After 로 응답한다.")
+    @Test
+    void rejectWhenLimitReached() throws Exception {
+        // given : 처리 중인 요청이 한도(10)만큼 있다.
+        occupy(10);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/articles"), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @DisplayName("읽기는 한도의 read-share 까지만 받고, 남은 자리는 쓰기 요청이 쓴다.")
+    @Test
+    void readShare() throws Exception {
+        // given : 처리 중인 요청이 읽기 한도(5)만큼 있다.
+        occupy(5);
+
+        // when
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles"), read, new MockFilterChain());
+
+        MockFilterChain writeChain = new MockFilterChain();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/articles/1"), write, writeChain);
+
+        // then : 읽기는 거절되고 쓰기는 처리된 뒤 자리를 돌려준다.
+        assertThat(read.getStatus()).isEqualTo(503);
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(writeChain.getRequest()).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(5);
+    }
+
+    @DisplayName("정적 리소스와 액추에이터 요청은 한도와 상관없이 통과한다.")
+    @Test
+    void staticRequestsBypass() throws Exception {
+        // given : 한도를 모두 쓰고 있다.
+        occupy(10);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/css/bootstrap.css"), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    private void occupy(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire(1.0)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptStrengthCalibratorTest {
+
+    @DisplayName("calibrate: 목표 시간이 최소 강도의 해시 시간보다 짧아도 최소 강도 아래로 내려가지 않는다.")
+    @Test
+    void neverBelowMinStrength() {
+        assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+    }
+
+    @DisplayName("calibrate: 목표 시간이 충분히 길면 최대 강도에서 멈춘다.")
+    @Test
+    void neverAboveMaxStrength() {
+        assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+
+    @DisplayName("calibrate: 고른 강도는 최소와 최대 사이이고, 목표 시간이 길수록 작아지지 않는다.")
+    @Test
+    void strengthGrowsWithTargetTime() {
+        int shorter = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(5), 4, 12);
+        int longer = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(200), 4, 12);
+
+        assertThat(shorter).isBetween(4, 12);
+        assertThat(longer).isBetween(4, 12).isGreaterThanOrEqualTo(shorter);
+    }
+}
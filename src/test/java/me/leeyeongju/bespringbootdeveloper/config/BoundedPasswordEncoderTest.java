@@ -0,0 +1,90 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import me.leeyeongju.bespringbootdeveloper.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+
+    // 첫 번째 해시는 release 될 때까지 끝나지 않는 인코더
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (hashes.incrementAndGet() == 1) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void releaseBlockedHash() {
+        release.countDown();
+    }
+
+    @DisplayName("대기열까지 가득 차면 기다리지 않고 503(Retry-After)으로 거절하고, 거절한 요청은 해시하지 않는다.")
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+        // given : 동시에 1개, 대기 0개. 첫 번째 해시가 실행 중이다.
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 0, Duration.ofSeconds(5));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when, then : 바로 거절된다.
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("second"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("queue is full")
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(hashes).hasValue(1);
+
+        // then : 실행 중이던 해시가 끝나면 다시 받는다.
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(encoder.matches("third", "hash:third")).isTrue();
+    }
+
+    @DisplayName("wait-timeout 안에 실행 자리를 얻지 못하면 해시를 시작하지 않고 거절한다.")
+    @Test
+    void rejectBeforeHashingWhenWaitTimesOut() throws Exception {
+        // given : 동시에 1개, 대기 1개. 첫 번째 해시가 실행 중이다.
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofMillis(100));
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when, then : 대기열에서 기다리다 시간이 지나면 거절되고, 해시는 실행되지 않는다.
+        assertThatThrownBy(() -> encoder.encode("second"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("timed out");
+        assertThat(hashes).hasValue(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+    }
+}
@@ -0,0 +1,73 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    // 초당 1개, 최대 5개, 쓰기 요청은 5개
+    private final ClientRateLimitFilter filter = new ClientRateLimitFilter(new ClientRateLimiter(1, 5, 100, now::get), 5);
+
+    @DisplayName("토큰을 모두 쓰면 다음 필터로 넘기지 않고 429 와 Retry-After(초, 올림)로 응답한다.")
+    @Test
+    void rejectWithRetryAfter() throws Exception {
+        // given : 읽기 5번으로 버킷을 비운다.
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("GET", "/api/articles").getStatus()).isEqualTo(200);
+        }
+
+        // when
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles"), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @DisplayName("쓰기 요청은 write-cost 만큼 토큰을 써서 같은 버킷의 읽기 요청도 함께 제한된다.")
+    @Test
+    void writeCostsMore() throws Exception {
+        // when : 쓰기 한 번으로 버킷(5개)을 모두 쓴다.
+        MockHttpServletResponse write = perform("POST", "/api/articles");
+        MockHttpServletResponse read = perform("GET", "/api/articles");
+
+        // then : 쓰기 뒤에는 읽기도 거절되고, 1초 뒤에는 읽기 하나만 허용된다.
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(read.getStatus()).isEqualTo(429);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(perform("GET", "/api/articles").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/articles").getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+
+    @DisplayName("정적 리소스 요청은 토큰을 쓰지 않고 제한되지도 않는다.")
+    @Test
+    void staticRequestsBypass() throws Exception {
+        // given : 버킷을 비운다.
+        perform("POST", "/api/articles");
+
+        // when, then
+        assertThat(perform("GET", "/js/article.js").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/actuator/health").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+}
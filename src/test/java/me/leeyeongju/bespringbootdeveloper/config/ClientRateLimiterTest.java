@@ -0,0 +1,44 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @DisplayName("burst 만큼은 바로 허용하고, 넘으면 토큰이 채워질 때까지의 시간을 반환한다.")
+    @Test
+    void tryConsume() {
+        // given : 초당 10개, 최대 5개
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(10, 5, 100, now::get);
+
+        // when, then
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryConsume("user:a", 1)).isZero();
+        }
+        assertThat(rateLimiter.tryConsume("user:a", 1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryConsume("user:b", 1)).isZero(); // 다른 사용자는 따로 제한
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryConsume("user:a", 1)).isZero();
+        assertThat(rateLimiter.tryConsume("user:a", 1)).isPositive();
+    }
+
+    @DisplayName("cost 가 큰 요청(쓰기)은 토큰을 더 많이 쓴다.")
+    @Test
+    void tryConsumeWithCost() {
+        // given
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(10, 10, 100, now::get);
+
+        // when, then : 10개 중 5개씩 두 번 쓰면 남은 토큰이 없다.
+        assertThat(rateLimiter.tryConsume("user:a", 5)).isZero();
+        assertThat(rateLimiter.tryConsume("user:a", 5)).isZero();
+        assertThat(rateLimiter.tryConsume("user:a", 1)).isPositive();
+    }
+}
@@ -0,0 +1,72 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 10, 100, now::get); // 초당 1개, 최대 10개
+
+    private final LoginRateLimitFilter loginFilter = new LoginRateLimitFilter(rateLimiter, 5);
+    private final ClientRateLimitFilter clientFilter = new ClientRateLimitFilter(rateLimiter, 5);
+
+    @DisplayName("POST /login 은 시큐리티 앞에서 IP 별로 제한하고, 넘으면 429 와 Retry-After 로 응답한다.")
+    @Test
+    void rejectLoginAttempts() throws Exception {
+        // given : 로그인 두 번(토큰 5개씩)으로 버킷을 비운다.
+        assertThat(login("10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1").getStatus()).isEqualTo(200);
+
+        // when
+        MockHttpServletResponse rejected = login("10.0.0.1");
+
+        // then : 같은 IP 는 거절되고, 다른 IP 는 따로 제한된다.
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(login("10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("로그인은 익명 요청과 같은 IP 버킷을 쓰고, 로그인 페이지(GET /login)는 이 필터에서 제한하지 않는다.")
+    @Test
+    void sharesBucketWithAnonymousRequests() throws Exception {
+        // given : 로그인 두 번으로 버킷을 비운다.
+        login("10.0.0.1");
+        login("10.0.0.1");
+
+        // when : 같은 IP 에서 로그인하지 않은 상태로 요청한다.
+        MockHttpServletRequest signup = request("POST", "/user", "10.0.0.1");
+        MockHttpServletResponse signupResponse = new MockHttpServletResponse();
+        clientFilter.doFilter(signup, signupResponse, new MockFilterChain());
+
+        MockFilterChain pageChain = new MockFilterChain();
+        MockHttpServletResponse page = new MockHttpServletResponse();
+        loginFilter.doFilter(request("GET", "/login", "10.0.0.1"), page, pageChain);
+
+        // then
+        assertThat(signupResponse.getStatus()).isEqualTo(429);
+        assertThat(page.getStatus()).isEqualTo(200);
+        assertThat(pageChain.getRequest()).isNotNull();
+    }
+
+    private MockHttpServletResponse login(String remoteAddr) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loginFilter.doFilter(request("POST", "/login", remoteAddr), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
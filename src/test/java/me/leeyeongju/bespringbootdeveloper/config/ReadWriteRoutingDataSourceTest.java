@@ -0,0 +1,97 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+    /*
+    프라이머리와 레플리카 역할의 독립된 메모리 H2 두 개에 각각 자기 이름을 저장해 두고,
+    트랜잭션 속성에 따라 어느 쪽에서 읽는지 확인한다.
+     */
+
+    private final DataSource primary = node("routing-primary");
+    private final DataSource replica = node("routing-replica");
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 레플리카, 쓰기 트랜잭션은 프라이머리에서 실행한다.")
+    @Test
+    public void routeByReadOnly() {
+        // given
+        TransactionTemplate transactionTemplate = routing(List.of(replica), Duration.ZERO);
+
+        // when, then
+        assertThat(nodeName(transactionTemplate, true)).isEqualTo("routing-replica");
+        assertThat(nodeName(transactionTemplate, false)).isEqualTo("routing-primary");
+    }
+
+    @DisplayName("레플리카에 접속할 수 없으면 프라이머리에서 읽고, 헬스 체크 후에도 제외한다.")
+    @Test
+    public void fallbackToPrimary() {
+        // given : 존재하지 않는 DB 를 가리키는 레플리카
+        DataSource brokenReplica = new DriverManagerDataSource("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE", "sa", "");
+        TransactionTemplate transactionTemplate = routing(List.of(brokenReplica), Duration.ZERO);
+
+        // when, then
+        assertThat(nodeName(transactionTemplate, true)).isEqualTo("routing-primary");
+
+        routingDataSource.checkReplicas();
+        assertThat(nodeName(transactionTemplate, true)).isEqualTo("routing-primary");
+    }
+
+    @DisplayName("쓰기를 커밋한 사용자는 일정 시간 동안 프라이머리에서 읽고, 다른 사용자는 레플리카에서 읽는다.")
+    @Test
+    public void readYourWrites() {
+        // given : writer 가 쓰기 트랜잭션을 커밋한다.
+        TransactionTemplate transactionTemplate = routing(List.of(replica), Duration.ofMinutes(1));
+        currentUser.set("writer");
+        nodeName(transactionTemplate, false);
+
+        // when, then
+        assertThat(nodeName(transactionTemplate, true)).isEqualTo("routing-primary");
+
+        currentUser.set("reader");
+        assertThat(nodeName(transactionTemplate, true)).isEqualTo("routing-replica");
+    }
+
+    private TransactionTemplate routing(List<DataSource> replicas, Duration readYourWritesWindow) {
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, currentUser::get, readYourWritesWindow);
+        return new TransactionTemplate(new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routingDataSource)));
+    }
+
+    private String nodeName(TransactionTemplate transactionTemplate, boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        DataSource dataSource = ((DataSourceTransactionManager) transactionTemplate.getTransactionManager()).getDataSource();
+
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node(name varchar(50))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node(name) values (?)", name);
+        return dataSource;
+    }
+}
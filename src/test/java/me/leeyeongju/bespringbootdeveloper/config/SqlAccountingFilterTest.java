@@ -0,0 +1,65 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlAccountingFilterTest {
+
+    private static final String SELECT_BODY = "select * from article_body where id = ?";
+    private static final String INSERT_ARTICLE = "insert into article (title) values (?)";
+
+    private final SqlAccountingFilter filter = new SqlAccountingFilter(3);
+
+    @DisplayName("본문을 쓰기 전까지 실행된 SQL 통계를 Server-Timing 헤더로 응답한다.")
+    @Test
+    void serverTimingHeader() throws Exception {
+        // given : 쿼리 두 번을 실행하고 본문을 쓰는 요청
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> {
+            SqlRequestStats.current().recordRoundTrip(List.of(SELECT_BODY), 1, 1_500_000);
+            SqlRequestStats.current().recordRoundTrip(List.of(SELECT_BODY), 1, 500_000);
+            SqlRequestStats.current().recordRows(2);
+            servletResponse.getWriter().write("ok");
+            servletResponse.flushBuffer(); // 응답 커밋
+        };
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles/1"), response, chain);
+
+        // then : 커밋 직전까지의 값으로 헤더가 붙고, 요청이 끝나면 통계가 스레드에서 제거된다.
+        assertThat(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER))
+                .startsWith("db;dur=2.0;desc=\"2 round trips, 2 statements, 2 rows\", total;dur=");
+        assertThat(SqlRequestStats.current()).isNull();
+    }
+
+    @DisplayName("같은 모양의 SQL 이 threshold 번을 넘게 왕복하면 경고하고, batch 는 한 번으로 센다.")
+    @Test
+    void repeatedStatementWarning(CapturedOutput output) throws Exception {
+        // given : 글 본문을 하나씩 4번 조회(N+1)하고, INSERT 100 건을 batch 두 번으로 보내는 요청
+        FilterChain chain = (request, servletResponse) -> {
+            for (int i = 0; i < 4; i++) {
+                SqlRequestStats.current().recordRoundTrip(List.of(SELECT_BODY), 1, 100_000);
+            }
+            SqlRequestStats.current().recordRoundTrip(List.of(INSERT_ARTICLE), 50, 1_000_000);
+            SqlRequestStats.current().recordRoundTrip(List.of(INSERT_ARTICLE), 50, 1_000_000);
+        };
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/articles/batch"), new MockHttpServletResponse(), chain);
+
+        // then : 반복된 SELECT 만 경고한다.
+        assertThat(output).contains("repeated_statement method=POST uri=/api/articles/batch count=4 threshold=3 sql=\"" + SELECT_BODY + "\"");
+        assertThat(output).doesNotContain("sql=\"" + INSERT_ARTICLE + "\"");
+    }
+}
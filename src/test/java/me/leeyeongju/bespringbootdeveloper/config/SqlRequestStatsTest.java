@@ -0,0 +1,53 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlRequestStatsTest {
+
+    @DisplayName("값만 다른 SQL 은 같은 모양으로 정규화한다.")
+    @Test
+    void shape() {
+        // when
+        String first = SqlRequestStats.shape("select * from article  where id = 1 and title = 'a''b'");
+        String second = SqlRequestStats.shape("select * from article where id = 42 and title = 'c'");
+        String inList = SqlRequestStats.shape("select * from article where id in (?, ?, ?)");
+
+        // then
+        assertThat(first).isEqualTo("select * from article where id = ? and title = ?");
+        assertThat(second).isEqualTo(first);
+        assertThat(inList).isEqualTo("select * from article where id in (?)");
+    }
+
+    @DisplayName("왕복 수와 문장 수, 행 수, DB 시간을 합산하고 batch 는 모양별 횟수에 한 번으로 센다.")
+    @Test
+    void recordRoundTrip() {
+        // given
+        SqlRequestStats stats = SqlRequestStats.start();
+
+        try {
+            // when
+            stats.recordRoundTrip(List.of("select * from article_body where id = ?"), 1, 200_000);
+            stats.recordRoundTrip(List.of("select * from article_body where id = ?"), 1, 300_000);
+            stats.recordRoundTrip(List.of("insert into article (title) values (?)"), 50, 10_000_000);
+            stats.recordRows(7);
+
+            // then : 1ms 보다 짧은 쿼리 시간도 버려지지 않는다.
+            assertThat(SqlRequestStats.current()).isSameAs(stats);
+            assertThat(stats.getRoundTrips()).isEqualTo(3);
+            assertThat(stats.getStatements()).isEqualTo(52);
+            assertThat(stats.getRows()).isEqualTo(7);
+            assertThat(stats.dbMillis()).isEqualTo(10.5);
+            assertThat(stats.getStatementShapes())
+                    .containsEntry("select * from article_body where id = ?", 2)
+                    .containsEntry("insert into article (title) values (?)", 1);
+            assertThat(stats.serverTiming()).startsWith("db;dur=10.5;desc=\"3 round trips, 52 statements, 7 rows\", total;dur=");
+        } finally {
+            SqlRequestStats.clear();
+        }
+    }
+}
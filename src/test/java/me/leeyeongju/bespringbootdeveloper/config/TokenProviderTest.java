@@ -0,0 +1,102 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Duration TTL = Duration.ofMinutes(15);
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TokenProvider providerAt(Instant instant) {
+        return new TokenProvider(objectMapper, SECRET, TTL, 100, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    @DisplayName("발급한 액세스 토큰을 검증하면 토큰에 담은 사용자 정보를 돌려준다.")
+    @Test
+    void createAndParse() {
+        // given
+        TokenProvider tokenProvider = providerAt(NOW);
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("user"));
+
+        // when
+        String token = tokenProvider.createAccessToken(1L, "user@gmail.com", authorities);
+
+        // then
+        TokenProvider.Claims claims = tokenProvider.parse(token).orElseThrow();
+        assertThat(claims.getUserId()).isEqualTo(1L);
+        assertThat(claims.getEmail()).isEqualTo("user@gmail.com");
+        assertThat(claims.getAuthorities()).isEqualTo(authorities);
+        assertThat(claims.getExpiresAt()).isEqualTo(NOW.plus(TTL));
+    }
+
+    @DisplayName("서명이나 페이로드가 바뀐 토큰, 다른 키로 서명한 토큰은 거부한다.")
+    @Test
+    void rejectTamperedToken() {
+        // given
+        TokenProvider tokenProvider = providerAt(NOW);
+        String token = tokenProvider.createAccessToken(1L, "user@gmail.com", List.of());
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin@gmail.com\",\"uid\":2,\"roles\":[],\"exp\":9999999999,\"jti\":\"x\"}".getBytes());
+        String otherKey = Base64.getEncoder().encodeToString("another-secret-key-of-32-bytes!!".getBytes());
+
+        // when & then
+        assertThat(tokenProvider.parse(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+        assertThat(tokenProvider.parse(parts[0] + "." + parts[1] + ".")).isEmpty();
+        assertThat(tokenProvider.parse("not-a-token")).isEmpty();
+        assertThat(new TokenProvider(objectMapper, otherKey, TTL, 100, Clock.fixed(NOW, ZoneOffset.UTC))
+                .parse(token)).isEmpty();
+    }
+
+    @DisplayName("만료된 토큰과 폐기한 토큰은 거부한다.")
+    @Test
+    void rejectExpiredAndRevokedToken() {
+        // given
+        TokenProvider tokenProvider = providerAt(NOW);
+        String expiring = tokenProvider.createAccessToken(1L, "user@gmail.com", List.of());
+        String revoked = tokenProvider.createAccessToken(1L, "user@gmail.com", List.of());
+
+        // when
+        tokenProvider.revoke(tokenProvider.parse(revoked).orElseThrow());
+
+        // then
+        assertThat(providerAt(NOW.plus(TTL)).parse(expiring)).isEmpty();
+        assertThat(tokenProvider.parse(expiring)).isPresent();
+        assertThat(tokenProvider.parse(revoked)).isEmpty();
+    }
+
+    @DisplayName("폐기 목록이 가득 차면 이미 폐기한 토큰을 밀어내지 않고 새 폐기를 거절한다.")
+    @Test
+    void rejectRevocationWhenFull() {
+        // given : 폐기 목록에 토큰 하나만 보관할 수 있다.
+        TokenProvider tokenProvider = new TokenProvider(objectMapper, SECRET, TTL, 1, Clock.fixed(NOW, ZoneOffset.UTC));
+        String first = tokenProvider.createAccessToken(1L, "user@gmail.com", List.of());
+        String second = tokenProvider.createAccessToken(1L, "user@gmail.com", List.of());
+
+        // when
+        boolean firstRevoked = tokenProvider.revoke(tokenProvider.parse(first).orElseThrow());
+        boolean secondRevoked = tokenProvider.revoke(tokenProvider.parse(second).orElseThrow());
+
+        // then : 먼저 폐기한 토큰은 계속 거부되고(fail-closed), 거절된 폐기는 false 로 알린다.
+        assertThat(firstRevoked).isTrue();
+        assertThat(secondRevoked).isFalse();
+        assertThat(tokenProvider.parse(first)).isEmpty();
+        assertThat(tokenProvider.parse(second)).isPresent();
+    }
+}
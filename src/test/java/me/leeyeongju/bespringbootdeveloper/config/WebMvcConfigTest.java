@@ -0,0 +1,55 @@
+package me.leeyeongju.bespringbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WebMvcConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    @DisplayName("내용 해시가 붙은 정적 리소스 URL 은 1년 동안 immutable 로 캐시한다.")
+    @Test
+    void versionedResourceIsImmutable() throws Exception {
+        // given : 템플릿이 렌더링하는 것과 같은 해시가 붙은 URL
+        String versionedUrl = resourceUrlProvider.getForLookupPath("/js/article.js");
+        assertThat(versionedUrl).matches("/js/article-[0-9a-f]{32}\\.js");
+
+        // when, then
+        mockMvc.perform(get(versionedUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @DisplayName("해시가 없는 정적 리소스 URL 은 no-cache 로 응답해서 매번 재검증하게 한다.")
+    @Test
+    void unversionedResourceIsRevalidated() throws Exception {
+        mockMvc.perform(get("/js/article.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @DisplayName("내용과 맞지 않는 해시가 붙은 URL 은 404 로 응답한다.")
+    @Test
+    void staleVersionIsNotFound() throws Exception {
+        mockMvc.perform(get("/js/article-" + "0".repeat(32) + ".js"))
+                .andExpect(status().isNotFound());
+    }
+}
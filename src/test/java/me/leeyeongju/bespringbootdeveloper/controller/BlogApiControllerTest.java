@@ -1,8 +1,11 @@
 package me.leeyeongju.bespringbootdeveloper.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
 import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleIdsRequest;
 import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleRequest;
 import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,19 +14,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
 
 @SpringBootTest // 테스트용 애플리케이션 컨텍스트
 @AutoConfigureMockMvc // MockMvc 생성 및 자동 구성
@@ -67,7 +76,11 @@ class BlogApiControllerTest {
                 .content(requestBody));
 
         // then
-        result.andExpect(status().isCreated());
+        result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.title").value(title))
+                .andExpect(jsonPath("$.content").value(content))
+                .andExpect(jsonPath("$.version").value(0));
 
         List<Article> articles = blogRepository.findAll();
 
@@ -76,6 +89,55 @@ class BlogApiControllerTest {
         assertThat(articles.get(0).getContent()).isEqualTo(content);
     }
 
+    @DisplayName("addArticles: 블로그 글 일괄 추가에 성공하고, 항목별 결과를 요청 순서대로 반환한다.")
+    @Test
+    public void addArticles() throws Exception {
+        // given : 정상 항목 2개와 내용이 없는 항목 1개를 준비한다.
+        final String url = "/api/articles/batch";
+        final List<AddArticleRequest> requests = List.of(
+                new AddArticleRequest("title 1", "content 1"),
+                new AddArticleRequest("title 2", null),
+                new AddArticleRequest("title 3", "content 3"));
+
+        // when : 일괄 추가 API를 호출한다.
+        ResultActions result = mockMvc.perform(post(url)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(requests)));
+
+        // then : 항목별 결과가 요청 순서대로 반환되고, 정상 항목만 저장된다.
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"))
+                .andExpect(jsonPath("$[2].index").value(2));
+
+        assertThat(blogRepository.findAll())
+                .extracting(Article::getTitle)
+                .containsExactlyInAnyOrder("title 1", "title 3");
+    }
+
+    @DisplayName("searchArticles: 제목과 본문에서 글을 검색하고, 일치한 단어를 강조해서 반환한다.")
+    @Test
+    public void searchArticles() throws Exception {
+        // given : 검색어가 본문에 포함된 글을 API로 저장한다.
+        final String keyword = "lucene" + System.nanoTime();
+        final AddArticleRequest request = new AddArticleRequest("search title", "full text " + keyword + " content");
+
+        mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // when : 검색 API를 호출한다.
+        final ResultActions result = mockMvc.perform(get("/api/articles/search").param("q", keyword));
+
+        // then : 저장한 글이 검색되고, 본문 발췌에 검색어가 강조된다.
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hits[0].title").value("search title"))
+                .andExpect(jsonPath("$.hits[0].highlight").value("full text <em>" + keyword + "</em> content"));
+    }
+
     @DisplayName("findAllArticles: 블로그 글 목록 조회에 성공한다.")
     @Test
     public void findAllArticles() throws Exception {
@@ -98,6 +160,121 @@ class BlogApiControllerTest {
                 .andExpect(jsonPath("$[0].title").value(title));
     }
 
+    @DisplayName("findAllArticles: 커서를 이용해 블로그 글 목록을 페이지 단위로 조회한다.")
+    @Test
+    public void findAllArticlesWithCursor() throws Exception {
+        // given : 블로그 글 3개를 저장한다.
+        final String url = "/api/articles";
+
+        for (int i = 1; i <= 3; i++) {
+            blogRepository.save(Article.builder()
+                    .title("title " + i)
+                    .content("content " + i)
+                    .build());
+        }
+
+        // when : 페이지 크기를 2로 첫 페이지를 조회한다.
+        MvcResult firstPage = mockMvc.perform(get(url).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("title 1"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+        // then : 커서로 다음 페이지를 조회하면 남은 1건만 반환되고 다음 커서는 없다.
+        mockMvc.perform(get(url).param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("title 3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @DisplayName("findArticlesByIds: 여러 글을 요청한 id 순서대로 조회하고, 없는 id 는 missing 으로 반환한다.")
+    @Test
+    public void findArticlesByIds() throws Exception {
+        // given : 블로그 글 2개를 저장한다.
+        Article first = blogRepository.save(Article.builder()
+                .title("first title")
+                .content("first content")
+                .build());
+        Article second = blogRepository.save(Article.builder()
+                .title("second title")
+                .content("second content")
+                .build());
+        long missingId = second.getId() + 1000;
+
+        // when, then : GET 으로 조회하면 요청 순서(second, first)대로 반환한다.
+        mockMvc.perform(get("/api/articles")
+                        .param("ids", second.getId() + "," + missingId + "," + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articles.length()").value(2))
+                .andExpect(jsonPath("$.articles[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.articles[0].content").value("second content"))
+                .andExpect(jsonPath("$.articles[1].id").value(first.getId()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId));
+
+        // when, then : POST 로 보내도 같고, 중복된 id 는 한 번만 반환한다.
+        mockMvc.perform(post("/api/articles/multi-get")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(
+                                new ArticleIdsRequest(List.of(first.getId(), first.getId(), second.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articles.length()").value(2))
+                .andExpect(jsonPath("$.articles[0].title").value("first title"))
+                .andExpect(jsonPath("$.missing.length()").value(0));
+    }
+
+    @DisplayName("findArticlesByIds: id 가 최대 개수를 넘으면 413 으로 응답한다.")
+    @Test
+    public void findArticlesByIdsTooMany() throws Exception {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        // when, then
+        mockMvc.perform(post("/api/articles/multi-get")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new ArticleIdsRequest(ids))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @DisplayName("exportArticles: 블로그 글을 NDJSON 으로 내보내고, after 이후부터 이어서 받을 수 있다.")
+    @Test
+    public void exportArticles() throws Exception {
+        // given : 블로그 글 2개를 저장한다.
+        final String url = "/api/articles/export";
+
+        Article firstArticle = blogRepository.save(Article.builder()
+                .title("first title")
+                .content("first content")
+                .build());
+
+        blogRepository.save(Article.builder()
+                .title("second title")
+                .content("second content")
+                .build());
+
+        // when : 전체 내보내기를 요청한다.
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then : 한 줄에 글 하나씩, id 순서대로 내보낸다.
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("first title");
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("second title");
+
+        // when & then : 첫 번째 글의 id 이후부터 요청하면 두 번째 글만 내보낸다.
+        String resumed = mockMvc.perform(get(url).param("after", String.valueOf(firstArticle.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(resumed.split("\n")).hasSize(1);
+        assertThat(resumed).contains("second title");
+    }
+
     @DisplayName("findArticle: 블로그 글 조회에 성공한다. ")
     @Test
     public void findArticle() throws Exception {
@@ -115,11 +292,162 @@ class BlogApiControllerTest {
         // when : 저장한 블로그 글의 id 값으로 API를 호출한다.
         final ResultActions resultActions = mockMvc.perform(get(url, savedArticle.getId()));
 
-        // then : 응답 코드가 200 OK이고, 반환받은 content와 title이 저장된 값과 같은지 확인한다.
+        // then : 응답 코드가 200 OK이고, 반환받은 content와 title이 저장된 값과 같은지 확인한다. 수정/삭제에 보낼 version 도 함께 받는다.
         resultActions
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").value(content))
-                .andExpect(jsonPath("$.title").value(title));
+                .andExpect(jsonPath("$.title").value(title))
+                .andExpect(jsonPath("$.version").value(savedArticle.getVersion()));
+    }
+
+    @DisplayName("findArticle: Accept 가 application/cbor 이면 같은 응답을 CBOR 로 반환한다.")
+    @Test
+    public void findArticleAsCbor() throws Exception {
+        // given
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("cbor title")
+                .content("cbor content")
+                .build());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/articles/{id}", savedArticle.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        // then : CBOR 로 읽은 값이 저장한 글과 같다.
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("title").asText()).isEqualTo("cbor title");
+        assertThat(body.get("content").asText()).isEqualTo("cbor content");
+    }
+
+    @DisplayName("findArticle: ETag 가 같으면 본문 없이 304, 글이 수정되면 다시 200 으로 응답한다.")
+    @Test
+    public void findArticleNotModified() throws Exception {
+        // given : 블로그 글을 저장하고 한 번 조회해서 ETag 를 받는다.
+        final String url = "/api/articles/{id}";
+
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(get(url, savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when, then : 같은 ETag 로 다시 조회하면 304 Not Modified 이고 본문이 없다.
+        mockMvc.perform(get(url, savedArticle.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // when, then : 글을 수정한 뒤에는 같은 ETag 로 조회해도 새 본문을 200 으로 받는다.
+        mockMvc.perform(put(url, savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", "new content"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(url, savedArticle.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new title"));
+    }
+
+    @DisplayName("findAllArticles: 조회한 페이지가 그대로면 304, 페이지의 글이 수정되면 다시 200 으로 응답한다.")
+    @Test
+    public void findAllArticlesNotModified() throws Exception {
+        // given : 블로그 글을 저장하고 목록을 한 번 조회해서 ETag 를 받는다.
+        final String url = "/api/articles";
+
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when, then : 같은 ETag 로 다시 조회하면 304 Not Modified 이고 본문이 없다.
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // when, then : 페이지에 있는 글을 수정하면 같은 ETag 로 조회해도 새 목록을 200 으로 받는다.
+        mockMvc.perform(put("/api/articles/{id}", savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", "new content"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("new title"));
+    }
+
+    @DisplayName("findTrendingArticles: 조회한 글이 인기 글 목록에 포함된다.")
+    @Test
+    public void findTrendingArticles() throws Exception {
+        // given : 블로그 글을 저장하고 여러 번 조회한다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("trending title")
+                .content("content")
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/articles/{id}", savedArticle.getId()))
+                    .andExpect(status().isOk());
+        }
+
+        // when : 인기 글 목록 API를 호출한다.
+        final ResultActions result = mockMvc.perform(get("/api/articles/trending").param("limit", "100"));
+
+        // then : 조회한 글이 목록에 포함된다.
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + savedArticle.getId() + ")].title").value("trending title"));
+    }
+
+    @DisplayName("findTrendingArticles: 수정한 글은 새 제목으로 보이고, 삭제한 글은 인기 글 목록에서 빠진다.")
+    @Test
+    public void findTrendingArticlesAfterUpdateAndDelete() throws Exception {
+        // given : 블로그 글을 저장하고 여러 번 조회해서 인기 글 후보로 만든다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("trending title")
+                .content("content")
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/articles/{id}", savedArticle.getId()))
+                    .andExpect(status().isOk());
+        }
+
+        // when : 제목을 수정한다.
+        mockMvc.perform(patch("/api/articles/{id}", savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("renamed title", null))))
+                .andExpect(status().isOk());
+
+        // then : 인기 글 목록에도 새 제목으로 보인다.
+        mockMvc.perform(get("/api/articles/trending").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + savedArticle.getId() + ")].title").value("renamed title"));
+
+        // when : 글을 삭제한다.
+        mockMvc.perform(delete("/api/articles/{id}", savedArticle.getId()))
+                .andExpect(status().isOk());
+
+        // then : 인기 글 목록에서 빠진다.
+        mockMvc.perform(get("/api/articles/trending").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + savedArticle.getId() + ")]").isEmpty());
     }
 
     @DisplayName("deleteArticle: 블로그 글 삭제에 성공한다.")
@@ -169,11 +497,53 @@ class BlogApiControllerTest {
                 .content(objectMapper.writeValueAsString(request)));
 
         // then : 응답 코드가 200 OK인지 확인하고 블로그 글 id로 조회한 후 값이 수정되었는지 확인한다.
-        result.andExpect(status().isOk());
+        // version 을 보내지 않았어도 응답에는 수정 후 버전이 담긴다.
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(newTitle))
+                .andExpect(jsonPath("$.version").value(savedArticle.getVersion() + 1));
 
         Article article = blogRepository.findById(savedArticle.getId()).get();
 
         assertThat(article.getTitle()).isEqualTo(newTitle);
         assertThat(article.getContent()).isEqualTo(newContent);
     }
-}
\ No newline at end of file
+
+    @DisplayName("patchArticle: 보낸 필드만 수정하고, 이전 버전으로 수정하면 409, 없는 글이면 404 로 응답한다.")
+    @Test
+    public void patchArticle() throws Exception {
+        // given : 블로그 글을 저장한다.
+        final String url = "/api/articles/{id}";
+
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        final long version = savedArticle.getVersion();
+
+        // when : 현재 버전으로 제목만 수정한다.
+        mockMvc.perform(patch(url, savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("new title", null, version))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new title"))
+                .andExpect(jsonPath("$.content").value("content")) // 보내지 않은 필드는 현재 값으로 응답
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        // then : 제목만 바뀌고 내용은 그대로이다.
+        Article article = blogRepository.findById(savedArticle.getId()).get();
+
+        assertThat(article.getTitle()).isEqualTo("new title");
+        assertThat(article.getContent()).isEqualTo("content");
+
+        // when, then : 이전 버전으로 다시 수정하면 409, 없는 글을 수정하면 404
+        mockMvc.perform(patch(url, savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest(null, "stale content", version))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch(url, 999L)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new UpdateArticleRequest("title", null))))
+                .andExpect(status().isNotFound());
+    }
+}
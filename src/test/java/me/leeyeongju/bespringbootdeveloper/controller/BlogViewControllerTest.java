@@ -0,0 +1,82 @@
+package me.leeyeongju.bespringbootdeveloper.controller;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
+import me.leeyeongju.bespringbootdeveloper.service.ArticleViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest
+class BlogViewControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
+    @BeforeEach
+    void mockMvcSetUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .build();
+        blogRepository.deleteAll();
+    }
+
+    @DisplayName("getArticle: 글 페이지를 다시 요청하면 조회수가 올라도 304 로 응답하고, 재방문도 조회수에 포함한다.")
+    @Test
+    void getArticleNotModified() throws Exception {
+        // given : 블로그 글을 저장하고 페이지를 한 번 연다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        long id = savedArticle.getId();
+
+        MvcResult first = mockMvc.perform(get("/articles/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(view().name("article"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        long views = articleViewCounter.pending(id);
+
+        // when, then : 브라우저처럼 받은 ETag, Last-Modified 로 다시 요청하면 본문 없이 304
+        mockMvc.perform(get("/articles/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/articles/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        // then : 304 로 응답한 요청도 조회수에 포함된다. (flush 전이면 pending, 이후면 DB)
+        assertThat(articleViewCounter.pending(id) + blogRepository.findById(id).orElseThrow().getViews())
+                .isGreaterThanOrEqualTo(views + 2);
+    }
+
+    @DisplayName("getArticle: 없는 글은 404 로 응답하고 조회수를 기록하지 않는다.")
+    @Test
+    void getArticleNotFound() throws Exception {
+        mockMvc.perform(get("/articles/{id}", 999L))
+                .andExpect(status().isNotFound());
+
+        assertThat(articleViewCounter.pending(999L)).isZero();
+    }
+}
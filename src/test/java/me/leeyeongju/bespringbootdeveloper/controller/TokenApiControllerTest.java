@@ -0,0 +1,138 @@
+package me.leeyeongju.bespringbootdeveloper.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.leeyeongju.bespringbootdeveloper.dto.AddUserRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.CreateTokenRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.RefreshTokenRequest;
+import me.leeyeongju.bespringbootdeveloper.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "blog.security.token.enabled=true") // /api/** 를 토큰으로 인증하는 필터 체인 사용
+@AutoConfigureMockMvc // 스프링 시큐리티 필터를 포함한 MockMvc
+class TokenApiControllerTest {
+
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    private String email;
+
+    @BeforeEach
+    void saveUser() {
+        email = "token" + System.nanoTime() + "@gmail.com";
+
+        AddUserRequest request = new AddUserRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        userService.save(request);
+    }
+
+    @DisplayName("/api/** 는 토큰이 없거나 잘못되면 401, 발급받은 액세스 토큰이 있으면 200 으로 응답한다.")
+    @Test
+    void apiRequiresAccessToken() throws Exception {
+        // given
+        JsonNode tokens = issue();
+
+        // when, then
+        mockMvc.perform(get("/api/articles"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/articles").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/articles").header(HttpHeaders.AUTHORIZATION, bearer(tokens)))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("createToken: 패스워드가 틀리면 401 로 응답한다.")
+    @Test
+    void createTokenWithWrongPassword() throws Exception {
+        mockMvc.perform(post("/api/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTokenRequest(email, "wrong"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("refreshToken: 리프레시 토큰은 한 번만 쓸 수 있고, 재발급하면 새 리프레시 토큰을 받는다.")
+    @Test
+    void refreshTokenRotation() throws Exception {
+        // given
+        String refreshToken = issue().get("refreshToken").asText();
+
+        // when : 한 번 재발급한다.
+        JsonNode refreshed = refresh(refreshToken, 200);
+
+        // then : 새 토큰으로 인증되고, 사용한 리프레시 토큰을 다시 쓰면 401 이다.
+        mockMvc.perform(get("/api/articles").header(HttpHeaders.AUTHORIZATION, bearer(refreshed)))
+                .andExpect(status().isOk());
+        refresh(refreshToken, 401);
+        refresh(refreshed.get("refreshToken").asText(), 200);
+    }
+
+    @DisplayName("revokeToken: 폐기한 액세스 토큰과 리프레시 토큰은 더 이상 쓸 수 없다.")
+    @Test
+    void revokeToken() throws Exception {
+        // given
+        JsonNode tokens = issue();
+
+        // when
+        mockMvc.perform(post("/api/token/revoke")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(tokens))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(tokens.get("refreshToken").asText()))))
+                .andExpect(status().isNoContent());
+
+        // then
+        mockMvc.perform(get("/api/articles").header(HttpHeaders.AUTHORIZATION, bearer(tokens)))
+                .andExpect(status().isUnauthorized());
+        refresh(tokens.get("refreshToken").asText(), 401);
+    }
+
+    private JsonNode issue() throws Exception {
+        String body = mockMvc.perform(post("/api/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTokenRequest(email, PASSWORD))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/api/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+
+    private static String bearer(JsonNode tokens) {
+        return "Bearer " + tokens.get("accessToken").asText();
+    }
+}
@@ -0,0 +1,81 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 다른 테스트와 DB 를 나누기 위해 별도의 메모리 DB 로 시작 (schema.sql, data.sql 이 새로 실행됨)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:article-body-migration")
+@DirtiesContext
+class ArticleBodyMigrationTest {
+
+    private static final long LEGACY_ID = 1_000_000L; // 시퀀스로 받는 id 와 겹치지 않는 값
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @DisplayName("schema.sql, data.sql 로 시작하면 초기 글 3개를 본문과 함께 조회할 수 있다.")
+    @Test
+    void seedData() {
+        // when
+        List<Article> articles = blogRepository.findAll();
+
+        // then
+        assertThat(articles).extracting(Article::getTitle).contains("제목 1", "제목 2", "제목 3");
+        assertThat(articles).extracting(Article::getContent).contains("내용 1", "내용 2", "내용 3");
+    }
+
+    @DisplayName("기존 구조(article.content)의 본문을 article_body 로 옮기고, 다시 실행해도 이미 옮긴 글은 건너뛴다.")
+    @Test
+    void migrate() {
+        // given : 문서(docs/article-body-migration.md) 1단계를 마친 기존 DB 처럼 본문이 article.content 에 있는 글
+        jdbcTemplate.execute("alter table article add column content varchar(255)");
+        jdbcTemplate.execute("alter table article alter column excerpt set null");
+        jdbcTemplate.execute("alter table article alter column body_id set null");
+
+        String longContent = "본문".repeat(Article.EXCERPT_LENGTH);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("insert into article (id, title, content, created_at, updated_at) values (?, ?, ?, now(), now())",
+                    LEGACY_ID + i, "legacy " + i, i == 0 ? longContent.substring(0, 200) : "legacy content " + i);
+        }
+
+        ArticleBodyMigration migration = new ArticleBodyMigration(jdbcTemplate, transactionTemplate);
+        ReflectionTestUtils.setField(migration, "chunkSize", 2); // chunk 두 번으로 나눠서 처리
+
+        // when
+        migration.run(null);
+        migration.run(null); // 두 번 실행해도 결과가 같다.
+
+        // then : 본문은 글 id 와 같은 id 로 article_body 에 옮겨지고, 발췌가 채워지고, 기존 컬럼은 비워진다.
+        Map<String, Object> first = jdbcTemplate.queryForMap(
+                "select body_id, excerpt, content from article where id = ?",
+                LEGACY_ID);
+        assertThat(first.get("BODY_ID")).isEqualTo(LEGACY_ID);
+        assertThat(first.get("EXCERPT")).isEqualTo(longContent.substring(0, Article.EXCERPT_LENGTH));
+        assertThat(first.get("CONTENT")).isNull();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from article where body_id is null", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from article_body where id between ? and ?", Long.class,
+                LEGACY_ID, LEGACY_ID + 2)).isEqualTo(3);
+
+        // then : 옮긴 글은 엔티티로 본문까지 조회된다.
+        assertThat(blogRepository.findById(LEGACY_ID + 1).orElseThrow().getContent()).isEqualTo("legacy content 1");
+    }
+}
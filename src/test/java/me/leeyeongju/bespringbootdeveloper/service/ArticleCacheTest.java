@@ -0,0 +1,57 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleCacheTest {
+
+    private final ArticleCache articleCache = new ArticleCache(100, Duration.ofMinutes(10));
+
+    @DisplayName("getAll: 조회한 글을 캐시에 넣고, 다음 조회에서는 loader 를 호출하지 않는다.")
+    @Test
+    void getAllCachesLoadedArticles() {
+        // given : 캐시가 비어 있다.
+        Article article = article(1L, "title");
+
+        // when : 두 번 조회한다.
+        articleCache.getAll(List.of(1L), ids -> Map.of(1L, article));
+        Map<Long, Article> found = articleCache.getAll(List.of(1L), ids -> {
+            throw new AssertionError("캐시에 있는 글은 다시 조회하지 않아야 한다.");
+        });
+
+        // then : 두 번째는 캐시에서 반환된다.
+        assertThat(found).containsEntry(1L, article);
+        assertThat(articleCache.getIfPresent(1L)).isSameAs(article);
+    }
+
+    @DisplayName("getAll: 조회하는 사이에 evict() 된 글은 이전 내용을 캐시에 다시 넣지 않는다.")
+    @Test
+    void getAllDoesNotCacheArticleEvictedDuringLoad() {
+        // given : 조회가 끝나기 전에 다른 요청이 글을 수정하고 캐시에서 제거한다.
+        Article stale = article(1L, "old title");
+
+        // when
+        Map<Long, Article> found = articleCache.getAll(List.of(1L), ids -> {
+            articleCache.evict(1L);
+            return Map.of(1L, stale);
+        });
+
+        // then : 이번 응답에는 조회한 값을 쓰지만 캐시에는 남지 않는다.
+        assertThat(found).containsEntry(1L, stale);
+        assertThat(articleCache.getIfPresent(1L)).isNull();
+    }
+
+    private static Article article(long id, String title) {
+        Article article = new Article(title, "content");
+        ReflectionTestUtils.setField(article, "id", id);
+        return article;
+    }
+}
@@ -0,0 +1,108 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import jakarta.persistence.EntityManager;
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSearchHit;
+import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleSearchIndexTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+
+    @TempDir
+    Path indexDir;
+
+    @DisplayName("rebuildIfNeeded: index-dir 의 인덱스가 DB 와 같으면 재시작해도 다시 만들지 않는다.")
+    @Test
+    void skipRebuildWhenIndexIsUpToDate() throws IOException {
+        // given : 글 하나가 있는 DB 로 인덱스를 만들고 종료한다.
+        givenArticles(article(1L, "lucene title", UPDATED_AT));
+        ArticleSearchIndex first = open(indexDir.toString());
+        first.rebuildIfNeeded();
+        first.destroy();
+
+        // when : 같은 디렉터리로 다시 시작한다.
+        ArticleSearchIndex second = open(indexDir.toString());
+        second.rebuildIfNeeded();
+
+        // then : DB 를 다시 읽지 않고 이전 인덱스로 검색한다.
+        verify(blogRepository, times(1)).streamAllAfter(0L);
+        assertThat(second.search("lucene", 0, 10).getHits()).extracting(ArticleSearchHit::getId).containsExactly(1L);
+        second.destroy();
+    }
+
+    @DisplayName("rebuildIfNeeded: 문서 수가 같아도 DB 에 인덱스보다 최근 수정이 있으면 다시 만든다.")
+    @Test
+    void rebuildWhenUpdateWasNotCommitted() throws IOException {
+        // given : 인덱스를 만들고 종료한다.
+        givenArticles(article(1L, "lucene title", UPDATED_AT));
+        ArticleSearchIndex first = open(indexDir.toString());
+        first.rebuildIfNeeded();
+        first.destroy();
+
+        // when : 인덱스에 커밋되기 전에 종료되어 수정이 반영되지 않은 상태로 다시 시작한다. (글 수는 그대로)
+        givenArticles(article(1L, "nori title", UPDATED_AT.plusSeconds(1)));
+        ArticleSearchIndex second = open(indexDir.toString());
+        second.rebuildIfNeeded();
+
+        // then : DB 에서 다시 만들어서 수정된 제목으로 검색된다.
+        verify(blogRepository, times(2)).streamAllAfter(0L);
+        assertThat(second.search("nori", 0, 10).getHits()).extracting(ArticleSearchHit::getTitle).containsExactly("nori title");
+        assertThat(second.search("lucene", 0, 10).getHits()).isEmpty();
+        second.destroy();
+    }
+
+    @DisplayName("rebuildIfNeeded: index-dir 이 비어 있으면(메모리 인덱스) 시작할 때마다 DB 에서 만든다.")
+    @Test
+    void inMemoryIndexIsBuiltOnStartup() throws IOException {
+        // given
+        givenArticles(article(1L, "lucene title", UPDATED_AT));
+        ArticleSearchIndex index = open("");
+
+        // when
+        index.rebuildIfNeeded();
+
+        // then
+        verify(blogRepository, times(1)).streamAllAfter(0L);
+        assertThat(index.search("lucene", 0, 10).getTotal()).isEqualTo(1);
+        index.destroy();
+    }
+
+    private ArticleSearchIndex open(String dir) throws IOException {
+        return new ArticleSearchIndex(blogRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                mock(EntityManager.class), dir, 1000);
+    }
+
+    private void givenArticles(Article article) {
+        when(blogRepository.count()).thenReturn(1L);
+        when(blogRepository.findMaxUpdatedAt()).thenReturn(Optional.of(article.getUpdatedAt()));
+        when(blogRepository.streamAllAfter(0L)).thenAnswer(invocation -> Stream.of(article));
+    }
+
+    private static Article article(long id, String title, LocalDateTime updatedAt) {
+        Article article = new Article(title, "content");
+        ReflectionTestUtils.setField(article, "id", id);
+        ReflectionTestUtils.setField(article, "updatedAt", updatedAt);
+        return article;
+    }
+}
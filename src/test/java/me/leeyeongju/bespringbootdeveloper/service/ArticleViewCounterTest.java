@@ -0,0 +1,140 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ArticleCache articleCache = new ArticleCache(100, Duration.ofMinutes(10));
+    private final ArticleViewCounter articleViewCounter = new ArticleViewCounter(jdbcTemplate, articleCache);
+
+    @DisplayName("flush: batch UPDATE 가 실패하면 증가분을 되돌려 두고 다음 flush 에서 함께 반영한다.")
+    @Test
+    void flushRetriesAfterBatchFailure() {
+        // given : 첫 번째 batch UPDATE 는 실패하고 두 번째는 성공한다.
+        List<Object[]> flushed = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenAnswer(invocation -> {
+                    flushed.addAll(invocation.getArgument(1));
+                    return new int[]{1};
+                });
+
+        articleViewCounter.increment(1L);
+        articleViewCounter.increment(1L);
+
+        // when : 실패한 flush 이후에 한 번 더 조회되고 다시 flush 한다.
+        articleViewCounter.flush();
+        assertThat(articleViewCounter.pending(1L)).isEqualTo(2); // 실패한 증가분은 메모리에 남아 있다.
+
+        articleViewCounter.increment(1L);
+        articleViewCounter.flush();
+
+        // then : 실패했던 증가분과 새 증가분이 한 번에 반영되고 메모리에는 남지 않는다.
+        assertThat(flushed).hasSize(1);
+        assertThat(flushed.get(0)).containsExactly(3L, 1L);
+        assertThat(articleViewCounter.pending(1L)).isZero();
+    }
+
+    @DisplayName("flush: flush 하는 동안 들어온 조회도 유실되거나 두 번 반영되지 않는다.")
+    @Test
+    void flushDoesNotLoseConcurrentIncrements() throws InterruptedException {
+        // given : 반영된 증가분을 모두 더한다.
+        AtomicLong flushedTotal = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> deltas = invocation.getArgument(1);
+            deltas.forEach(delta -> flushedTotal.addAndGet((Long) delta[0]));
+            return new int[deltas.size()];
+        });
+
+        final int threads = 4;
+        final int viewsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // when : 여러 스레드가 몇 개의 글을 조회하는 동안 계속 flush 한다.
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    articleViewCounter.increment(i % 3);
+                }
+                done.countDown();
+            });
+        }
+
+        while (done.getCount() > 0) {
+            articleViewCounter.flush();
+        }
+        articleViewCounter.flush();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then : 반영된 증가분의 합이 조회 수와 정확히 같다.
+        assertThat(flushedTotal.get()).isEqualTo((long) threads * viewsPerThread);
+        assertThat(articleViewCounter.pending(0L) + articleViewCounter.pending(1L) + articleViewCounter.pending(2L)).isZero();
+    }
+
+    @DisplayName("flush: DB에 반영하는 동안에도 캐시된 글의 조회수가 줄어들지 않고, 반영 후에는 DB 값으로 바뀐다.")
+    @Test
+    void viewCountDoesNotGoBackwardsDuringFlush() throws Exception {
+        // given : 조회수 3 인 글이 캐시에 있고 두 번 더 조회되었다.
+        Article article = new Article("title", "content");
+        ReflectionTestUtils.setField(article, "id", 1L);
+        ReflectionTestUtils.setField(article, "views", 3L);
+        articleCache.put(article);
+
+        articleViewCounter.increment(1L);
+        articleViewCounter.increment(1L);
+
+        // batch UPDATE 가 실행되는 동안의 조회수를 기록하고, 다시 읽으면 DB 에는 5 가 저장되어 있다.
+        List<Long> duringFlush = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            duringFlush.add(articleViewCounter.viewCount(article));
+            duringFlush.add(articleViewCounter.pending(1L));
+            return new int[]{1};
+        });
+
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(1L);
+        when(row.getLong("views")).thenReturn(5L);
+        doAnswer(invocation -> {
+            duringFlush.add(articleViewCounter.viewCount(article)); // 캐시된 글에 반영하기 전
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        // when
+        articleViewCounter.flush();
+
+        // then : 반영 중에는 꺼낸 증가분이 계속 포함되고, 반영 후에는 캐시된 값이 DB 값이 되어 증가분은 남지 않는다.
+        assertThat(duringFlush).containsExactly(5L, 2L, 5L);
+        assertThat(article.getViews()).isEqualTo(5);
+        assertThat(articleViewCounter.viewCount(article)).isEqualTo(5);
+        assertThat(articleViewCounter.pending(1L)).isZero();
+    }
+}
@@ -2,7 +2,12 @@ package me.leeyeongju.bespringbootdeveloper.service;
 
 import me.leeyeongju.bespringbootdeveloper.domain.Article;
 import me.leeyeongju.bespringbootdeveloper.dto.AddArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleListViewResponse;
+import me.leeyeongju.bespringbootdeveloper.dto.ArticleSummary;
 import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleRequest;
+import me.leeyeongju.bespringbootdeveloper.dto.UpdateArticleResponse;
+import me.leeyeongju.bespringbootdeveloper.exception.ArticleConflictException;
+import me.leeyeongju.bespringbootdeveloper.exception.ArticleNotFoundException;
 import me.leeyeongju.bespringbootdeveloper.repository.BlogRepository;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +40,12 @@ class BlogServiceTest {
     @Autowired
     private BlogRepository blogRepository;
 
+    @Autowired
+    private ArticleCache articleCache;
+
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
     @BeforeEach // 테스트 실행 전 실행 되는 것으로 해당 테스트에서는 데이터베이스를 초기화하는 방법으로 이용
     void setUp() {
         blogRepository.deleteAll();
@@ -90,6 +101,46 @@ class BlogServiceTest {
 
     }
 
+    @DisplayName("findAllListViews() : 글 목록 뷰에 필요한 id, 제목, 본문 발췌만 조회하는데 성공한다.")
+    @Test
+    void findAllListViews() {
+        // given : 발췌 길이보다 긴 본문을 가진 글 저장
+        final String title = "title";
+        final String content = "a".repeat(ArticleListViewResponse.EXCERPT_LENGTH + 50);
+
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title(title)
+                .content(content)
+                .build());
+
+        // when : 목록 뷰용 프로젝션 조회
+        List<ArticleListViewResponse> articles = blogService.findAllListViews();
+
+        // then : id, 제목은 그대로이고 본문은 발췌 길이만큼만 조회되었는지 확인
+        assertThat(articles).hasSize(1);
+        assertThat(articles.get(0).getId()).isEqualTo(savedArticle.getId());
+        assertThat(articles.get(0).getTitle()).isEqualTo(title);
+        assertThat(articles.get(0).getContent()).hasSize(ArticleListViewResponse.EXCERPT_LENGTH);
+    }
+
+    @DisplayName("save() : 긴 본문은 article_body 에 그대로 저장되고, 목록에는 발췌만 조회된다.")
+    @Test
+    void saveLargeContent() {
+        // given : VARCHAR(255) 보다 훨씬 긴 본문
+        final String content = "b".repeat(20_000);
+        Article savedArticle = blogService.save(new AddArticleRequest("title", content));
+        articleCache.evict(savedArticle.getId());
+
+        // when : 상세 조회(DB)와 목록 조회
+        Article foundArticle = blogService.findById(savedArticle.getId());
+        List<ArticleSummary> page = blogService.findPage(null, 10).getContent();
+
+        // then : 상세에는 본문 전체, 목록에는 앞부분만
+        assertThat(foundArticle.getContent()).isEqualTo(content);
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getExcerpt()).hasSize(Article.EXCERPT_LENGTH);
+    }
+
     @DisplayName("findArticle : 글 상세보기에 성공한다")
     @Test
     void findArticle() {
@@ -132,6 +183,54 @@ class BlogServiceTest {
         });
     }
 
+    @DisplayName("findArticle : 캐시된 글은 다시 조회하지 않고, 수정 이후에는 수정된 내용을 조회한다")
+    @Test
+    void findArticleFromCache() {
+        // given : 글을 저장하고 한 번 조회해서 캐시에 올린다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        Article firstRead = blogService.findById(savedArticle.getId());
+        long hitCount = articleCache.stats().hitCount();
+
+        // when : 같은 글을 다시 조회한다.
+        Article secondRead = blogService.findById(savedArticle.getId());
+
+        // then : 캐시에서 같은 객체가 반환된다.
+        assertThat(secondRead).isSameAs(firstRead);
+        assertThat(articleCache.stats().hitCount()).isEqualTo(hitCount + 1);
+
+        // when : 글을 수정한 뒤 다시 조회한다.
+        blogService.update(savedArticle.getId(), new UpdateArticleRequest("modify Title", "modify Content"));
+
+        // then : 캐시가 무효화되어 수정된 내용이 조회된다.
+        assertThat(blogService.findById(savedArticle.getId()).getTitle()).isEqualTo("modify Title");
+    }
+
+    @DisplayName("recordView : 조회수는 메모리에 모였다가 flush 로 한 번에 DB에 반영된다")
+    @Test
+    void recordView() {
+        // given : 글을 저장한다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        // when : 세 번 조회한다.
+        for (int i = 0; i < 3; i++) {
+            blogService.recordView(savedArticle.getId());
+        }
+
+        // then : flush 이후에는 증가분이 모두 DB에 반영되고 메모리에는 남지 않는다. (주기적인 flush 가 먼저 실행되어도 결과는 같다)
+        articleViewCounter.flush();
+
+        assertThat(blogRepository.findById(savedArticle.getId()).get().getViews()).isEqualTo(3);
+        assertThat(articleViewCounter.pending(savedArticle.getId())).isZero();
+        assertThat(blogService.viewCount(blogService.findById(savedArticle.getId()))).isEqualTo(3);
+    }
+
     @DisplayName("deleteArticle : 작성된 글 삭제에 성공한다")
     @Test
     void deleteArticle() {
@@ -169,11 +268,36 @@ class BlogServiceTest {
         UpdateArticleRequest request = new UpdateArticleRequest(modifyTitle, modifyContent); // UpdateArticleRequest(DTO)를 이용하여 수정할 내용을 전달받아 수정한다.
 
         // when : 글 수정 메서드 호출
-        Article updatedArticle = blogService.update(savedArticle.getId(), request);
+        UpdateArticleResponse response = blogService.update(savedArticle.getId(), request);
 
         // then : 수정한 내용이 맞는지 검증한다.
+        Article updatedArticle = blogRepository.findById(savedArticle.getId()).get();
+
+        assertThat(response.getTitle()).isEqualTo(modifyTitle);
         assertThat(updatedArticle.getTitle()).isEqualTo(modifyTitle);
         assertThat(updatedArticle.getContent()).isEqualTo(modifyContent);
+        assertThat(updatedArticle.getVersion()).isEqualTo(savedArticle.getVersion() + 1);
+    }
+
+    @DisplayName("updateArticle : 요청한 버전이 현재 버전과 다르면 수정하지 않고 409 예외를 발생시킨다")
+    @Test
+    void updateArticleConflict() {
+        // given : 글을 저장하고 한 번 수정해서 버전을 올린다.
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        final long staleVersion = savedArticle.getVersion();
+
+        blogService.update(savedArticle.getId(), new UpdateArticleRequest("first", "first", staleVersion));
+
+        // when & then : 이전 버전으로 수정하면 충돌 예외, 없는 글이면 not found 예외
+        assertThrows(ArticleConflictException.class, () ->
+                blogService.update(savedArticle.getId(), new UpdateArticleRequest("second", "second", staleVersion)));
+        assertThrows(ArticleNotFoundException.class, () ->
+                blogService.update(999L, new UpdateArticleRequest("title", "content", 0L)));
+
+        assertThat(blogRepository.findById(savedArticle.getId()).get().getTitle()).isEqualTo("first");
     }
 
 }
\ No newline at end of file
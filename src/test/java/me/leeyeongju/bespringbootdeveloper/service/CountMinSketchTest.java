@@ -0,0 +1,58 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.01;
+
+    @DisplayName("추정값은 실제 빈도보다 작지 않고, 1 - delta 이상의 키에서 오차가 epsilon * N 이내이다.")
+    @Test
+    void errorIsBounded() {
+        // given : 소수의 글에 조회가 몰리는(Zipf 분포에 가까운) 조회 스트림
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        Map<Long, Long> actual = new HashMap<>();
+        Random random = new Random(42);
+        final int total = 200_000;
+
+        for (int i = 0; i < total; i++) {
+            long id = (long) Math.floor(Math.pow(50_000, random.nextDouble())); // 작은 id 일수록 자주 조회됨
+            sketch.add(id, 1);
+            actual.merge(id, 1L, Long::sum);
+        }
+
+        // when : 모든 글의 추정 오차를 계산한다.
+        long bound = (long) Math.ceil(EPSILON * total);
+        long withinBound = actual.entrySet().stream()
+                .filter(entry -> sketch.estimate(entry.getKey()) - entry.getValue() <= bound)
+                .count();
+
+        // then
+        assertThat(actual).allSatisfy((id, count) -> assertThat(sketch.estimate(id)).isGreaterThanOrEqualTo(count));
+        assertThat((double) withinBound / actual.size()).isGreaterThanOrEqualTo(1 - DELTA);
+    }
+
+    @DisplayName("decay() 후에는 추정값이 절반이 된다.")
+    @Test
+    void decayHalvesEstimates() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        sketch.add(1L, 100);
+        sketch.add(2L, 7);
+
+        // when
+        sketch.decay();
+
+        // then
+        assertThat(sketch.estimate(1L)).isEqualTo(50);
+        assertThat(sketch.estimate(2L)).isEqualTo(3);
+    }
+}
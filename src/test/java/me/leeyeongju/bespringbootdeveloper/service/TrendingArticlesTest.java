@@ -0,0 +1,90 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.Article;
+import me.leeyeongju.bespringbootdeveloper.dto.TrendingArticleResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TrendingArticlesTest {
+
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.01;
+
+    @DisplayName("heavy hitter 는 추정 빈도 상위 후보에 남는다.")
+    @Test
+    void trendingKeepsHeavyHitters() {
+        // given : 후보 3개, 1~3번 글이 많이 조회되고 나머지 글은 한 번씩 조회된다.
+        TrendingArticles trending = new TrendingArticles(EPSILON, DELTA, 3);
+
+        for (long id = 1; id <= 3; id++) {
+            record(trending, id, 100 * (int) id);
+        }
+        for (long id = 100; id < 1_000; id++) {
+            record(trending, id, 1);
+        }
+
+        // when, then : 상위 후보는 조회가 많은 순서대로 3, 2, 1번 글이다.
+        assertThat(trending.top(3))
+                .extracting(TrendingArticleResponse::getId)
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @DisplayName("decay() 후 추정값이 0 이 된 후보는 목록에서 빠진다.")
+    @Test
+    void decayEvictsZeroScoreCandidates() {
+        // given : 1번 글은 한 번, 2번 글은 네 번 조회된다.
+        TrendingArticles trending = new TrendingArticles(EPSILON, DELTA, 3);
+        record(trending, 1L, 1);
+        record(trending, 2L, 4);
+
+        // when
+        trending.decay();
+
+        // then : 1번 글은 1 >> 1 = 0 이 되어 빠지고, 2번 글은 절반인 2 로 남는다.
+        assertThat(trending.top(3))
+                .extracting(TrendingArticleResponse::getId, TrendingArticleResponse::getScore)
+                .containsExactly(tuple(2L, 2L));
+    }
+
+    @DisplayName("remove() 로 후보가 빠지면 기준값이 다시 계산되어 추정값이 작은 글도 후보가 될 수 있다.")
+    @Test
+    void removeRecomputesMinScore() {
+        // given : 후보 2개가 가득 찬 상태 (가장 작은 후보의 추정값 3)
+        TrendingArticles trending = new TrendingArticles(EPSILON, DELTA, 2);
+        record(trending, 1L, 5);
+        record(trending, 2L, 3);
+        record(trending, 3L, 1);
+        assertThat(trending.top(2)).extracting(TrendingArticleResponse::getId).containsExactly(1L, 2L);
+
+        // when : 2번 글을 삭제한 뒤 3번 글이 한 번 더 조회된다.
+        trending.remove(2L);
+        record(trending, 3L, 1);
+
+        // then : 후보에 빈자리가 생겼으므로 추정값 2 인 3번 글도 후보가 된다.
+        assertThat(trending.top(2))
+                .extracting(TrendingArticleResponse::getId)
+                .containsExactly(1L, 3L);
+    }
+
+    // 같은 글을 times 번 조회한다.
+    private static void record(TrendingArticles trending, long id, int times) {
+        Article article = article(id);
+        for (int i = 0; i < times; i++) {
+            trending.record(article);
+        }
+    }
+
+    // id 가 지정된 글 (DB 에 저장하지 않으므로 id 를 직접 설정)
+    private static Article article(long id) {
+        Article article = Article.builder()
+                .title("title " + id)
+                .content("content")
+                .build();
+        ReflectionTestUtils.setField(article, "id", id);
+        return article;
+    }
+}
@@ -0,0 +1,86 @@
+package me.leeyeongju.bespringbootdeveloper.service;
+
+import me.leeyeongju.bespringbootdeveloper.domain.User;
+import me.leeyeongju.bespringbootdeveloper.dto.AddUserRequest;
+import me.leeyeongju.bespringbootdeveloper.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailServiceTest {
+
+    private static final String EMAIL = "user@gmail.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailService userDetailService = new UserDetailService(userRepository, 100, Duration.ofMinutes(5));
+
+    @DisplayName("loadUserByUsername: 한 번 조회한 사용자는 캐시에서 반환하고 DB를 다시 조회하지 않는다.")
+    @Test
+    void loadUserByUsernameIsCached() {
+        // given
+        givenUser("hash-1");
+
+        // when
+        userDetailService.loadUserByUsername(EMAIL);
+        userDetailService.loadUserByUsername(EMAIL);
+
+        // then
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @DisplayName("updatePassword: 패스워드가 바뀌면 캐시의 인증 정보도 새 패스워드로 바뀐다.")
+    @Test
+    void updatePasswordReplacesCachedPrincipal() {
+        // given : 이전 패스워드로 캐시되어 있다.
+        givenUser("hash-1");
+        userDetailService.loadUserByUsername(EMAIL);
+
+        // when : 해시 업그레이드 등으로 패스워드를 바꾼다.
+        userDetailService.updatePassword(userDetailService.loadUserByUsername(EMAIL), "hash-2");
+
+        // then : 이전 패스워드가 남아 있지 않다.
+        assertThat(userDetailService.loadUserByUsername(EMAIL).getPassword()).isEqualTo("hash-2");
+    }
+
+    @DisplayName("UserService.save: 사용자를 저장하면 캐시된 인증 정보를 제거해서 다음 로그인은 DB의 값을 쓴다.")
+    @Test
+    void saveEvictsCachedPrincipal() {
+        // given : 이전 정보로 캐시되어 있다.
+        givenUser("hash-1");
+        userDetailService.loadUserByUsername(EMAIL);
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("new password")).thenReturn("hash-2");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserService userService = new UserService(userRepository, passwordEncoder, userDetailService);
+
+        AddUserRequest request = new AddUserRequest();
+        request.setEmail(EMAIL);
+        request.setPassword("new password");
+
+        // when : 같은 email 로 저장하고 DB의 값이 바뀐다.
+        userService.save(request);
+        givenUser("hash-2");
+
+        // then : 캐시가 아니라 DB에서 다시 읽는다.
+        assertThat(userDetailService.loadUserByUsername(EMAIL).getPassword()).isEqualTo("hash-2");
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    private void givenUser(String password) {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(User.builder()
+                .email(EMAIL)
+                .password(password)
+                .build()));
+    }
+}